@@ -0,0 +1,45 @@
+package com.OriginHubs.Amraj.config;
+
+import java.util.List;
+
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import com.OriginHubs.Amraj.service.ProductImageService;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Serves the width-bucketed variant of an image when the request carries
+ * {@code ?size=thumbnail|card|detail}, e.g. /images/products/1/product-1-main.jpg?size=card.
+ */
+public class ImageVariantResourceResolver implements ResourceResolver {
+
+    private final ProductImageService productImageService;
+
+    public ImageVariantResourceResolver(ProductImageService productImageService) {
+        this.productImageService = productImageService;
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        ProductImageService.Variant variant = request != null
+                ? ProductImageService.Variant.fromParam(request.getParameter("size"))
+                : null;
+        if (variant != null) {
+            String variantPath = productImageService.resolveVariantPath(requestPath, variant);
+            Resource resource = chain.resolveResource(request, variantPath, locations);
+            if (resource != null) {
+                return resource;
+            }
+        }
+        return chain.resolveResource(request, requestPath, locations);
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourcePath, locations);
+    }
+}
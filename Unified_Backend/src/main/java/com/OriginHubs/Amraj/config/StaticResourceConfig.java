@@ -1,15 +1,44 @@
 package com.OriginHubs.Amraj.config;
 
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import com.OriginHubs.Amraj.service.ProductImageService;
 
 @Configuration
 public class StaticResourceConfig implements WebMvcConfigurer {
 
+    private final ProductImageService productImageService;
+
+    public StaticResourceConfig(ProductImageService productImageService) {
+        this.productImageService = productImageService;
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // Uploaded images get unique names and variants never change, so they can be cached for long
         registry.addResourceHandler("/images/**")
-                .addResourceLocations("file:./images/");
+                .addResourceLocations("file:./images/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic())
+                // No resolver caching: it keys on the path only and would ignore ?size=
+                .resourceChain(false)
+                .addResolver(new ImageVariantResourceResolver(productImageService))
+                .addResolver(new PathResourceResolver());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> imageEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/images/*");
+        registration.setName("imageEtagFilter");
+        return registration;
     }
 }
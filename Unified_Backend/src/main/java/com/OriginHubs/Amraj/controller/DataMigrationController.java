@@ -5,14 +5,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.OriginHubs.Amraj.service.InventorySearchIndex;
+
 @RestController
 @RequestMapping("/api/admin")
 public class DataMigrationController {
 
     private final JdbcTemplate jdbcTemplate;
+    private final InventorySearchIndex inventorySearchIndex;
 
-    public DataMigrationController(JdbcTemplate jdbcTemplate) {
+    public DataMigrationController(JdbcTemplate jdbcTemplate, InventorySearchIndex inventorySearchIndex) {
         this.jdbcTemplate = jdbcTemplate;
+        this.inventorySearchIndex = inventorySearchIndex;
     }
 
     @PostMapping("/migrate-to-mangoes")
@@ -49,6 +53,7 @@ public class DataMigrationController {
             "Dasheri Mango", 9.99, "kg", "Premium quality fresh mangoes", "USB Cable Type-C"
         );
         
+        inventorySearchIndex.evictAll();
         return "Migration completed! Updated " + updated + " inventory items from electronics to mangoes.";
     }
 }
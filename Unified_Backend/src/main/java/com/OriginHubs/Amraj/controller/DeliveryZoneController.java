@@ -0,0 +1,70 @@
+package com.OriginHubs.Amraj.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.OriginHubs.Amraj.dto.DeliveryZoneRequest;
+import com.OriginHubs.Amraj.dto.DeliveryZoneResponse;
+import com.OriginHubs.Amraj.dto.ServiceabilityResponse;
+import com.OriginHubs.Amraj.service.DeliveryZoneIndex;
+import com.OriginHubs.Amraj.service.DeliveryZoneService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/admin/delivery-zones")
+public class DeliveryZoneController {
+
+    private final DeliveryZoneService deliveryZoneService;
+    private final DeliveryZoneIndex deliveryZoneIndex;
+
+    public DeliveryZoneController(DeliveryZoneService deliveryZoneService, DeliveryZoneIndex deliveryZoneIndex) {
+        this.deliveryZoneService = deliveryZoneService;
+        this.deliveryZoneIndex = deliveryZoneIndex;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DeliveryZoneResponse>> getZones(@RequestParam(required = false) UUID hubId) {
+        return ResponseEntity.ok(deliveryZoneService.getZones(hubId));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DeliveryZoneResponse> getZone(@PathVariable UUID id) {
+        return ResponseEntity.ok(deliveryZoneService.getZone(id));
+    }
+
+    @GetMapping("/resolve")
+    public ResponseEntity<ServiceabilityResponse> resolve(@RequestParam double lat, @RequestParam double lng) {
+        return ResponseEntity.ok(deliveryZoneIndex.resolve(lat, lng));
+    }
+
+    @PostMapping
+    public ResponseEntity<DeliveryZoneResponse> createZone(@Valid @RequestBody DeliveryZoneRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(deliveryZoneService.createZone(request));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<DeliveryZoneResponse> updateZone(
+            @PathVariable UUID id,
+            @Valid @RequestBody DeliveryZoneRequest request) {
+        return ResponseEntity.ok(deliveryZoneService.updateZone(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteZone(@PathVariable UUID id) {
+        deliveryZoneService.deleteZone(id);
+        return ResponseEntity.noContent().build();
+    }
+}
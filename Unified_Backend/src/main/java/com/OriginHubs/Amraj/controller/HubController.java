@@ -22,10 +22,12 @@ import com.OriginHubs.Amraj.dto.HubDetailResponse;
 import com.OriginHubs.Amraj.dto.HubStatusUpdateRequest;
 import com.OriginHubs.Amraj.dto.HubSummaryResponse;
 import com.OriginHubs.Amraj.dto.HubUpdateRequest;
+import com.OriginHubs.Amraj.dto.NearestHubResponse;
 import com.OriginHubs.Amraj.entity.Hub;
 import com.OriginHubs.Amraj.entity.enums.HubStatus;
 import com.OriginHubs.Amraj.repository.HubRepository;
 import com.OriginHubs.Amraj.service.HubService;
+import com.OriginHubs.Amraj.service.NearestHubIndex;
 
 import jakarta.validation.Valid;
 
@@ -39,6 +41,9 @@ public class HubController {
     @Autowired
     private HubService hubService;
 
+    @Autowired
+    private NearestHubIndex nearestHubIndex;
+
     @GetMapping
     public List<Hub> getAllHubs() {
         return hubRepository.findAll();
@@ -64,6 +69,14 @@ public class HubController {
         return ResponseEntity.ok(hub);
     }
     
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearestHubResponse>> getNearestHubs(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(nearestHubIndex.nearest(lat, lng, limit));
+    }
+    
     @PostMapping
     public ResponseEntity<HubDetailResponse> createHub(@Valid @RequestBody HubCreateRequest request) {
         HubDetailResponse createdHub = hubService.createHub(request);
@@ -0,0 +1,44 @@
+package com.OriginHubs.Amraj.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.OriginHubs.Amraj.dto.SkuAvailabilityResponse;
+import com.OriginHubs.Amraj.service.InventoryAvailabilityMatrix;
+
+@RestController
+@RequestMapping("/api/admin/inventory/availability")
+public class InventoryAvailabilityController {
+
+    private final InventoryAvailabilityMatrix inventoryAvailabilityMatrix;
+
+    public InventoryAvailabilityController(InventoryAvailabilityMatrix inventoryAvailabilityMatrix) {
+        this.inventoryAvailabilityMatrix = inventoryAvailabilityMatrix;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SkuAvailabilityResponse>> getAvailability(@RequestParam List<String> skus) {
+        try {
+            return ResponseEntity.ok(inventoryAvailabilityMatrix.lookup(skus));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Same lookup for SKU sets too large for a query string
+    @PostMapping
+    public ResponseEntity<List<SkuAvailabilityResponse>> lookupAvailability(@RequestBody List<String> skus) {
+        try {
+            return ResponseEntity.ok(inventoryAvailabilityMatrix.lookup(skus));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.OriginHubs.Amraj.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -17,14 +22,22 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.OriginHubs.Amraj.dto.InventoryItemCreateRequest;
 import com.OriginHubs.Amraj.dto.InventoryItemResponse;
 import com.OriginHubs.Amraj.dto.InventoryItemUpdateRequest;
+import com.OriginHubs.Amraj.dto.PagedResponse;
+import com.OriginHubs.Amraj.dto.StockTransferBatchRequest;
+import com.OriginHubs.Amraj.dto.StockTransferBatchResponse;
 import com.OriginHubs.Amraj.dto.StockTransferRequest;
 import com.OriginHubs.Amraj.dto.UpdateQuantityRequest;
+import com.OriginHubs.Amraj.entity.Hub;
 import com.OriginHubs.Amraj.entity.enums.AuditActionType;
+import com.OriginHubs.Amraj.model.BulkUploadResponse;
 import com.OriginHubs.Amraj.service.AuditLogService;
+import com.OriginHubs.Amraj.service.InventoryCsvService;
 import com.OriginHubs.Amraj.service.InventoryItemService;
 
 import jakarta.validation.Valid;
@@ -34,10 +47,13 @@ import jakarta.validation.Valid;
 public class InventoryItemController {
 
     private final InventoryItemService inventoryItemService;
+    private final InventoryCsvService inventoryCsvService;
     private final AuditLogService auditLogService;
 
-    public InventoryItemController(InventoryItemService inventoryItemService, AuditLogService auditLogService) {
+    public InventoryItemController(InventoryItemService inventoryItemService, InventoryCsvService inventoryCsvService,
+                                   AuditLogService auditLogService) {
         this.inventoryItemService = inventoryItemService;
+        this.inventoryCsvService = inventoryCsvService;
         this.auditLogService = auditLogService;
     }
 
@@ -50,6 +66,49 @@ public class InventoryItemController {
         return ResponseEntity.ok(items);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<PagedResponse<InventoryItemResponse>> searchInventory(
+            @PathVariable UUID hubId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "sku") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "50") Integer size) {
+        return ResponseEntity.ok(inventoryItemService.searchInventory(hubId, status, search, sort, direction, page, size));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportInventory(@PathVariable UUID hubId) {
+        Hub hub = inventoryCsvService.getHub(hubId);
+        String filename = "inventory-" + (hub.getCode() != null ? hub.getCode() : hubId) + ".csv";
+        StreamingResponseBody body = out -> inventoryCsvService.exportHub(hubId, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(new MediaType("text", "csv"))
+                .body(body);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<?> importInventory(
+            @RequestHeader(value = "X-User-Id", required = false) UUID userId,
+            @PathVariable UUID hubId,
+            @RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Please select a file to upload."));
+        }
+        BulkUploadResponse response;
+        try (InputStream in = file.getInputStream()) {
+            response = inventoryCsvService.importHub(hubId, in);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("message", "Failed to read file: " + e.getMessage()));
+        }
+        if (userId != null && response.getSuccessCount() > 0) {
+            auditLogService.recordAction(userId, AuditActionType.INVENTORY_TRANSFER, "InventoryImport", file.getOriginalFilename(), hubId, null, null, "API", "INFO", "Imported " + response.getSuccessCount() + " inventory rows (" + response.getErrorCount() + " rejected)", null, null, null, null);
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{itemId}")
     public ResponseEntity<InventoryItemResponse> getInventoryItem(
             @PathVariable UUID hubId,
@@ -141,4 +200,18 @@ public class InventoryItemController {
         }
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping("/transfer/batch")
+    public ResponseEntity<StockTransferBatchResponse> transferStockBatch(
+            @RequestHeader(value = "X-User-Id", required = false) java.util.UUID userId,
+            @PathVariable UUID hubId,
+            @Valid @RequestBody StockTransferBatchRequest request) {
+        StockTransferBatchResponse response = inventoryItemService.transferStockBatch(request.transfers());
+        if (userId != null) {
+            for (StockTransferRequest transfer : request.transfers()) {
+                auditLogService.recordAction(userId, AuditActionType.INVENTORY_TRANSFER, "InventoryTransfer", transfer.sku(), transfer.destinationHubId(), null, null, "API", "INFO", "Transferred " + transfer.quantity() + " of " + transfer.sku() + " from " + transfer.sourceHubId() + " to " + transfer.destinationHubId(), null, transfer, null, null);
+            }
+        }
+        return ResponseEntity.ok(response);
+    }
 }
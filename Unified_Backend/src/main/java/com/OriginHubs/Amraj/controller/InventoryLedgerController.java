@@ -0,0 +1,75 @@
+package com.OriginHubs.Amraj.controller;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.OriginHubs.Amraj.dto.InventoryMovementResponse;
+import com.OriginHubs.Amraj.dto.InventoryMovementSummaryResponse;
+import com.OriginHubs.Amraj.dto.InventoryStockLevelResponse;
+import com.OriginHubs.Amraj.dto.PagedResponse;
+import com.OriginHubs.Amraj.entity.enums.AuditActionType;
+import com.OriginHubs.Amraj.service.AuditLogService;
+import com.OriginHubs.Amraj.service.InventoryLedgerService;
+
+@RestController
+@RequestMapping("/api/admin/hubs/{hubId}/inventory/ledger")
+public class InventoryLedgerController {
+
+    private final InventoryLedgerService inventoryLedgerService;
+    private final AuditLogService auditLogService;
+
+    public InventoryLedgerController(InventoryLedgerService inventoryLedgerService, AuditLogService auditLogService) {
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.auditLogService = auditLogService;
+    }
+
+    @GetMapping("/movements")
+    public ResponseEntity<PagedResponse<InventoryMovementResponse>> getMovements(
+            @PathVariable UUID hubId,
+            @RequestParam(required = false) String sku,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+            @RequestParam(defaultValue = "0") Integer page,
+            @RequestParam(defaultValue = "50") Integer size) {
+        return ResponseEntity.ok(inventoryLedgerService.getMovements(hubId, sku, from, to, page, size));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<List<InventoryMovementSummaryResponse>> getMovementSummary(
+            @PathVariable UUID hubId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to) {
+        return ResponseEntity.ok(inventoryLedgerService.getMovementSummary(hubId, from, to));
+    }
+
+    @GetMapping("/stock-at")
+    public ResponseEntity<List<InventoryStockLevelResponse>> getStockAt(
+            @PathVariable UUID hubId,
+            @RequestParam(required = false) String sku,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime at) {
+        return ResponseEntity.ok(inventoryLedgerService.getStockAt(hubId, sku, at));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<List<InventoryStockLevelResponse>> rebuildQuantities(
+            @RequestHeader(value = "X-User-Id", required = false) UUID userId,
+            @PathVariable UUID hubId,
+            @RequestParam(defaultValue = "false") boolean apply) {
+        List<InventoryStockLevelResponse> drift = inventoryLedgerService.rebuildQuantities(hubId, apply);
+        if (apply && userId != null && !drift.isEmpty()) {
+            auditLogService.recordAction(userId, AuditActionType.INVENTORY_TRANSFER, "InventoryLedger", hubId.toString(), hubId, null, null, "API", "INFO", "Reset " + drift.size() + " inventory quantities from the ledger", null, drift, null, null);
+        }
+        return ResponseEntity.ok(drift);
+    }
+}
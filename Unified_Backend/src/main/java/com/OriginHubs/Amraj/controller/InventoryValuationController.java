@@ -0,0 +1,45 @@
+package com.OriginHubs.Amraj.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.OriginHubs.Amraj.dto.InventoryValuationResponse;
+import com.OriginHubs.Amraj.service.InventoryValuationService;
+
+@RestController
+@RequestMapping("/api/admin/inventory/valuation")
+public class InventoryValuationController {
+
+    private final InventoryValuationService inventoryValuationService;
+
+    public InventoryValuationController(InventoryValuationService inventoryValuationService) {
+        this.inventoryValuationService = inventoryValuationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<InventoryValuationResponse> getValuation() {
+        return ResponseEntity.ok(inventoryValuationService.getValuation());
+    }
+
+    @GetMapping("/csv")
+    public ResponseEntity<byte[]> getValuationCsv() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inventory-valuation-" + LocalDate.now() + ".csv\"")
+                .contentType(new MediaType("text", "csv"))
+                .body(inventoryValuationService.renderCsv());
+    }
+
+    @GetMapping("/pdf")
+    public ResponseEntity<byte[]> getValuationPdf() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inventory-valuation-" + LocalDate.now() + ".pdf\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(inventoryValuationService.renderPdf());
+    }
+}
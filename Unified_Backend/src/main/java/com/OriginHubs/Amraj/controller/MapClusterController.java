@@ -0,0 +1,31 @@
+package com.OriginHubs.Amraj.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.OriginHubs.Amraj.dto.MapClusterResponse;
+import com.OriginHubs.Amraj.service.MapClusterIndex;
+
+@RestController
+@RequestMapping("/api/admin/map")
+public class MapClusterController {
+
+    private final MapClusterIndex mapClusterIndex;
+
+    public MapClusterController(MapClusterIndex mapClusterIndex) {
+        this.mapClusterIndex = mapClusterIndex;
+    }
+
+    @GetMapping("/clusters")
+    public ResponseEntity<MapClusterResponse> getClusters(
+            @RequestParam double south,
+            @RequestParam double west,
+            @RequestParam double north,
+            @RequestParam double east,
+            @RequestParam int zoom) {
+        return ResponseEntity.ok(mapClusterIndex.clusters(south, west, north, east, zoom));
+    }
+}
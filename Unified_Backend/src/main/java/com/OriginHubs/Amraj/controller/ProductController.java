@@ -19,10 +19,16 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.OriginHubs.Amraj.entity.enums.AuditActionType;
 import com.OriginHubs.Amraj.model.BulkUploadResponse;
+import com.OriginHubs.Amraj.model.FleetStockSyncResponse;
+import com.OriginHubs.Amraj.model.Image;
 import com.OriginHubs.Amraj.model.Product;
 import com.OriginHubs.Amraj.model.ProductRequest;
 import com.OriginHubs.Amraj.model.StockSyncResponse;
 import com.OriginHubs.Amraj.service.AuditLogService;
+import com.OriginHubs.Amraj.service.FleetStockSyncService;
+import com.OriginHubs.Amraj.service.ProductAvailabilityIndex;
+import com.OriginHubs.Amraj.service.ProductCoOccurrenceService;
+import com.OriginHubs.Amraj.service.ProductImageService;
 import com.OriginHubs.Amraj.service.ProductService;
 
 import jakarta.validation.Valid;
@@ -33,10 +39,20 @@ public class ProductController {
 
     private final ProductService productService;
     private final AuditLogService auditLogService;
-
-    public ProductController(ProductService productService, AuditLogService auditLogService) {
+    private final FleetStockSyncService fleetStockSyncService;
+    private final ProductAvailabilityIndex productAvailabilityIndex;
+    private final ProductImageService productImageService;
+    private final ProductCoOccurrenceService productCoOccurrenceService;
+
+    public ProductController(ProductService productService, AuditLogService auditLogService, FleetStockSyncService fleetStockSyncService,
+                             ProductAvailabilityIndex productAvailabilityIndex, ProductImageService productImageService,
+                             ProductCoOccurrenceService productCoOccurrenceService) {
         this.productService = productService;
         this.auditLogService = auditLogService;
+        this.fleetStockSyncService = fleetStockSyncService;
+        this.productAvailabilityIndex = productAvailabilityIndex;
+        this.productImageService = productImageService;
+        this.productCoOccurrenceService = productCoOccurrenceService;
     }
 
     @GetMapping
@@ -130,6 +146,23 @@ public class ProductController {
         }
     }
 
+    @PostMapping("/{id}/images")
+    public ResponseEntity<?> uploadProductImage(@PathVariable Long id,
+                                                @RequestParam("file") MultipartFile file,
+                                                @RequestParam(defaultValue = "false") boolean primary) {
+        if (productService.getProductById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            Image image = productImageService.storeProductImage(id, file, primary);
+            return new ResponseEntity<>(image, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (java.io.IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("message", "Failed to store image: " + e.getMessage()));
+        }
+    }
+
     @PostMapping("/{id}/stock-sync")
     public ResponseEntity<StockSyncResponse> syncProductStock(@PathVariable Long id) {
         try {
@@ -139,4 +172,39 @@ public class ProductController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    @PostMapping("/stock-sync")
+    public ResponseEntity<FleetStockSyncResponse> syncAllProductStock() {
+        try {
+            return ResponseEntity.ok(fleetStockSyncService.syncAllProducts());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/recommendations/rebuild")
+    public ResponseEntity<Void> rebuildRecommendations() {
+        try {
+            productCoOccurrenceService.rebuild();
+            return ResponseEntity.noContent().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/stock-redistribute")
+    public ResponseEntity<Map<String, Integer>> redistributeStock(@RequestBody List<Long> productIds) {
+        int updatedRows = productService.redistributeStock(productIds);
+        return ResponseEntity.ok(Map.of("updatedRows", updatedRows));
+    }
+
+    @GetMapping("/{id}/hubs")
+    public ResponseEntity<List<java.util.UUID>> getHubsCarryingProduct(@PathVariable Long id) {
+        return ResponseEntity.ok(productAvailabilityIndex.getHubsCarrying(id));
+    }
+
+    @GetMapping("/{id}/availability/{hubId}")
+    public ResponseEntity<Map<String, Boolean>> isProductAvailableAtHub(@PathVariable Long id, @PathVariable java.util.UUID hubId) {
+        return ResponseEntity.ok(Map.of("available", productAvailabilityIndex.isAvailableAt(id, hubId)));
+    }
 }
@@ -1,5 +1,7 @@
 package com.OriginHubs.Amraj.controller;
 
+import com.OriginHubs.Amraj.customer.service.PromoCodeCatalog;
+import com.OriginHubs.Amraj.customer.service.PromoUsageCounter;
 import com.OriginHubs.Amraj.model.PromoCode;
 import com.OriginHubs.Amraj.repository.PromoCodeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,12 @@ public class PromoCodeManagementController {
     @Autowired
     private PromoCodeRepository promoCodeRepository;
 
+    @Autowired
+    private PromoCodeCatalog promoCodeCatalog;
+
+    @Autowired
+    private PromoUsageCounter promoUsageCounter;
+
     @GetMapping
     public ResponseEntity<List<PromoCode>> getAllPromoCodes() {
         return ResponseEntity.ok(promoCodeRepository.findAll());
@@ -22,18 +30,25 @@ public class PromoCodeManagementController {
 
     @PostMapping
     public ResponseEntity<PromoCode> createPromoCode(@RequestBody PromoCode promoCode) {
-        return ResponseEntity.ok(promoCodeRepository.save(promoCode));
+        PromoCode saved = promoCodeRepository.save(promoCode);
+        promoCodeCatalog.put(saved);
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<PromoCode> updatePromoCode(@PathVariable Long id, @RequestBody PromoCode promoCode) {
         promoCode.setId(id);
-        return ResponseEntity.ok(promoCodeRepository.save(promoCode));
+        PromoCode saved = promoCodeRepository.save(promoCode);
+        promoCodeCatalog.put(saved);
+        promoUsageCounter.resync(saved);
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePromoCode(@PathVariable Long id) {
         promoCodeRepository.deleteById(id);
+        promoCodeCatalog.evict(id);
+        promoUsageCounter.remove(id);
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
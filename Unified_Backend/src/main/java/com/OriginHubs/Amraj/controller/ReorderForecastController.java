@@ -0,0 +1,41 @@
+package com.OriginHubs.Amraj.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.OriginHubs.Amraj.dto.ReorderForecastRunResponse;
+import com.OriginHubs.Amraj.dto.ReorderSuggestionResponse;
+import com.OriginHubs.Amraj.service.ReorderForecastService;
+
+@RestController
+@RequestMapping("/api/admin/inventory/reorder-forecast")
+public class ReorderForecastController {
+
+    private final ReorderForecastService reorderForecastService;
+
+    public ReorderForecastController(ReorderForecastService reorderForecastService) {
+        this.reorderForecastService = reorderForecastService;
+    }
+
+    @PostMapping("/run")
+    public ResponseEntity<ReorderForecastRunResponse> runForecast() {
+        try {
+            return ResponseEntity.ok(reorderForecastService.runForecast());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/hubs/{hubId}")
+    public ResponseEntity<List<ReorderSuggestionResponse>> getSuggestions(@PathVariable UUID hubId) {
+        return ResponseEntity.ok(reorderForecastService.getSuggestions(hubId));
+    }
+}
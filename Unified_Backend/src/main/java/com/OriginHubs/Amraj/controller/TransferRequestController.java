@@ -11,16 +11,25 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.OriginHubs.Amraj.dto.PagedResponse;
+import com.OriginHubs.Amraj.dto.TransferConsolidationPlanResponse;
+import com.OriginHubs.Amraj.dto.TransferRequestBulkDecisionRequest;
+import com.OriginHubs.Amraj.dto.TransferRequestBulkDecisionResponse;
 import com.OriginHubs.Amraj.dto.TransferRequestDecisionRequest;
 import com.OriginHubs.Amraj.dto.TransferRequestResponse;
+import com.OriginHubs.Amraj.entity.enums.AuditActionType;
 import com.OriginHubs.Amraj.entity.enums.TransferStatus;
+import com.OriginHubs.Amraj.service.AuditLogService;
+import com.OriginHubs.Amraj.service.TransferConsolidationService;
 import com.OriginHubs.Amraj.service.TransferRequestService;
 
+import jakarta.validation.Valid;
+
 @RestController
 @RequestMapping("/api/admin/transfer-requests")
 public class TransferRequestController {
@@ -28,6 +37,12 @@ public class TransferRequestController {
     @Autowired
     private TransferRequestService transferRequestService;
 
+    @Autowired
+    private TransferConsolidationService transferConsolidationService;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
     @GetMapping
     public ResponseEntity<PagedResponse<TransferRequestResponse>> getTransferRequests(
             @RequestParam(required = false) TransferStatus status,
@@ -39,6 +54,13 @@ public class TransferRequestController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/consolidation-plan")
+    public ResponseEntity<TransferConsolidationPlanResponse> getConsolidationPlan(
+            @RequestParam(required = false) Integer maxUnits,
+            @RequestParam(required = false) Double maxWeightKg) {
+        return ResponseEntity.ok(transferConsolidationService.plan(maxUnits, maxWeightKg));
+    }
+
     @GetMapping("/pending-count")
     public ResponseEntity<Map<String, Long>> getPendingCount() {
         long count = transferRequestService.getPendingCount();
@@ -54,6 +76,21 @@ public class TransferRequestController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/decisions")
+    public ResponseEntity<TransferRequestBulkDecisionResponse> processTransferRequests(
+            @RequestHeader(value = "X-User-Id", required = false) UUID userId,
+            @Valid @RequestBody TransferRequestBulkDecisionRequest decision) {
+        TransferRequestBulkDecisionResponse response = transferRequestService.processTransferRequests(decision);
+        if (userId != null) {
+            // One correlation id ties the per-request entries of a bulk decision together
+            UUID correlationId = UUID.randomUUID();
+            for (TransferRequestResponse request : response.requests()) {
+                auditLogService.recordAction(userId, AuditActionType.INVENTORY_TRANSFER, "TransferRequest", request.getId(), null, null, null, "API", "INFO", request.getStatus() + " transfer request " + request.getRequestId() + " (" + request.getQuantity() + " of " + request.getSku() + ")", null, request, null, correlationId);
+            }
+        }
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/dev/generate-sample-data")
     public ResponseEntity<Map<String, Object>> generateSampleTransferRequests() {
         try {
@@ -2,6 +2,7 @@ package com.OriginHubs.Amraj.customer.controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -55,4 +56,9 @@ public class CustomerFavoriteController {
         boolean isFavorite = favoriteService.isFavorite(userId, productId);
         return ResponseEntity.ok(Map.of("isFavorite", isFavorite));
     }
+
+    @GetMapping("/user/{userId}/product-ids")
+    public ResponseEntity<Set<Long>> getFavoriteProductIds(@PathVariable Long userId) {
+        return ResponseEntity.ok(favoriteService.getFavoriteProductIds(userId));
+    }
 }
@@ -2,8 +2,11 @@ package com.OriginHubs.Amraj.customer.controller;
 
 import com.OriginHubs.Amraj.customer.dto.ProductWithImagesDTO;
 import com.OriginHubs.Amraj.customer.service.CustomerProductService;
+import com.OriginHubs.Amraj.dto.ProductRecommendationResponse;
+import com.OriginHubs.Amraj.service.ProductCoOccurrenceService;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/customer/products")
@@ -11,9 +14,11 @@ import java.util.List;
 public class CustomerProductController {
 
     private final CustomerProductService productService;
+    private final ProductCoOccurrenceService productCoOccurrenceService;
 
-    public CustomerProductController(CustomerProductService productService) {
+    public CustomerProductController(CustomerProductService productService, ProductCoOccurrenceService productCoOccurrenceService) {
         this.productService = productService;
+        this.productCoOccurrenceService = productCoOccurrenceService;
     }
 
     @GetMapping
@@ -25,4 +30,22 @@ public class CustomerProductController {
     public List<ProductWithImagesDTO> getProductsByCategory(@PathVariable String category) {
         return productService.getProductsByCategory(category);
     }
+
+    @GetMapping(value = "/hub/{hubId}", produces = "application/json")
+    public List<ProductWithImagesDTO> getProductsAtHub(@PathVariable UUID hubId,
+                                                       @RequestParam(required = false) String category) {
+        return productService.getProductsAtHub(hubId, category);
+    }
+
+    @GetMapping(value = "/{productId}/bought-together", produces = "application/json")
+    public List<ProductRecommendationResponse> getBoughtTogether(@PathVariable Long productId,
+                                                                 @RequestParam(required = false) Integer limit) {
+        return productCoOccurrenceService.getBoughtTogether(productId, limit);
+    }
+
+    @GetMapping(value = "/{productId}/also-bought", produces = "application/json")
+    public List<ProductRecommendationResponse> getAlsoBought(@PathVariable Long productId,
+                                                             @RequestParam(required = false) Integer limit) {
+        return productCoOccurrenceService.getAlsoBought(productId, limit);
+    }
 }
@@ -1,5 +1,7 @@
 package com.OriginHubs.Amraj.customer.controller;
 
+import com.OriginHubs.Amraj.customer.dto.PromoCartEvaluationResponse;
+import com.OriginHubs.Amraj.customer.dto.PromoCartRequest;
 import com.OriginHubs.Amraj.customer.dto.PromoCodeValidationRequest;
 import com.OriginHubs.Amraj.customer.dto.PromoCodeValidationResponse;
 import com.OriginHubs.Amraj.customer.service.PromoCodeService;
@@ -31,4 +33,12 @@ public class PromoCodeController {
         PromoCodeValidationResponse response = promoCodeService.validatePromoCode(request, request.getUserId());
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/evaluate-cart")
+    public ResponseEntity<PromoCartEvaluationResponse> evaluateCart(@RequestBody PromoCartRequest request) {
+        if ((request.getItems() == null || request.getItems().isEmpty()) && request.getOrderAmount() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(promoCodeService.evaluateCart(request));
+    }
 }
\ No newline at end of file
@@ -9,6 +9,8 @@ public class CustomerAddressRequest {
     private String zipCode;
     private String country;
     private Boolean isDefault;
+    private Double latitude;
+    private Double longitude;
 
     // Constructors
     public CustomerAddressRequest() {
@@ -78,4 +80,20 @@ public class CustomerAddressRequest {
     public void setIsDefault(Boolean isDefault) {
         this.isDefault = isDefault;
     }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
 }
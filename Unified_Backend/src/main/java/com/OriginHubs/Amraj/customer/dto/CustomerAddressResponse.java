@@ -1,6 +1,7 @@
 package com.OriginHubs.Amraj.customer.dto;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 import com.OriginHubs.Amraj.model.Address;
 
@@ -16,6 +17,16 @@ public class CustomerAddressResponse {
     private Boolean isDefault;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Double latitude;
+    private Double longitude;
+    // Closest active hub to the address, when it has coordinates
+    private UUID nearestHubId;
+    private String nearestHubName;
+    private Double nearestHubDistanceKm;
+    // Null until delivery zones are configured
+    private Boolean serviceable;
+    private UUID servingHubId;
+    private String servingHubName;
 
     // Constructors
     public CustomerAddressResponse() {
@@ -33,6 +44,8 @@ public class CustomerAddressResponse {
         this.isDefault = address.getIsDefault();
         this.createdAt = address.getCreatedAt();
         this.updatedAt = address.getUpdatedAt();
+        this.latitude = address.getLatitude();
+        this.longitude = address.getLongitude();
     }
 
     // Getters and Setters
@@ -123,4 +136,68 @@ public class CustomerAddressResponse {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public UUID getNearestHubId() {
+        return nearestHubId;
+    }
+
+    public void setNearestHubId(UUID nearestHubId) {
+        this.nearestHubId = nearestHubId;
+    }
+
+    public String getNearestHubName() {
+        return nearestHubName;
+    }
+
+    public void setNearestHubName(String nearestHubName) {
+        this.nearestHubName = nearestHubName;
+    }
+
+    public Double getNearestHubDistanceKm() {
+        return nearestHubDistanceKm;
+    }
+
+    public void setNearestHubDistanceKm(Double nearestHubDistanceKm) {
+        this.nearestHubDistanceKm = nearestHubDistanceKm;
+    }
+
+    public Boolean getServiceable() {
+        return serviceable;
+    }
+
+    public void setServiceable(Boolean serviceable) {
+        this.serviceable = serviceable;
+    }
+
+    public UUID getServingHubId() {
+        return servingHubId;
+    }
+
+    public void setServingHubId(UUID servingHubId) {
+        this.servingHubId = servingHubId;
+    }
+
+    public String getServingHubName() {
+        return servingHubName;
+    }
+
+    public void setServingHubName(String servingHubName) {
+        this.servingHubName = servingHubName;
+    }
 }
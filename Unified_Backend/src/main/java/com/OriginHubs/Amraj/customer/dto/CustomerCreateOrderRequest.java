@@ -46,6 +46,9 @@ public class CustomerCreateOrderRequest {
     private BigDecimal discountAmount;
 
     private String deliveryAddress;
+    // Optional; when given, the order is assigned to the nearest active hub
+    private Double deliveryLatitude;
+    private Double deliveryLongitude;
 
     // Getters and Setters
     public Long getUserId() {
@@ -119,4 +122,20 @@ public class CustomerCreateOrderRequest {
     public void setDiscountAmount(BigDecimal discountAmount) {
         this.discountAmount = discountAmount;
     }
+
+    public Double getDeliveryLatitude() {
+        return deliveryLatitude;
+    }
+
+    public void setDeliveryLatitude(Double deliveryLatitude) {
+        this.deliveryLatitude = deliveryLatitude;
+    }
+
+    public Double getDeliveryLongitude() {
+        return deliveryLongitude;
+    }
+
+    public void setDeliveryLongitude(Double deliveryLongitude) {
+        this.deliveryLongitude = deliveryLongitude;
+    }
 }
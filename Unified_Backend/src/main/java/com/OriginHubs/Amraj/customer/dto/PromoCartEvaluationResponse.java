@@ -0,0 +1,62 @@
+package com.OriginHubs.Amraj.customer.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class PromoCartEvaluationResponse {
+    private String bestCode;
+    private BigDecimal bestDiscount;
+    private BigDecimal orderAmount;
+    private BigDecimal finalAmount;
+    private List<PromoEvaluation> evaluations;
+
+    public PromoCartEvaluationResponse(String bestCode, BigDecimal bestDiscount, BigDecimal orderAmount,
+                                       BigDecimal finalAmount, List<PromoEvaluation> evaluations) {
+        this.bestCode = bestCode;
+        this.bestDiscount = bestDiscount;
+        this.orderAmount = orderAmount;
+        this.finalAmount = finalAmount;
+        this.evaluations = evaluations;
+    }
+
+    public String getBestCode() { return bestCode; }
+    public void setBestCode(String bestCode) { this.bestCode = bestCode; }
+
+    public BigDecimal getBestDiscount() { return bestDiscount; }
+    public void setBestDiscount(BigDecimal bestDiscount) { this.bestDiscount = bestDiscount; }
+
+    public BigDecimal getOrderAmount() { return orderAmount; }
+    public void setOrderAmount(BigDecimal orderAmount) { this.orderAmount = orderAmount; }
+
+    public BigDecimal getFinalAmount() { return finalAmount; }
+    public void setFinalAmount(BigDecimal finalAmount) { this.finalAmount = finalAmount; }
+
+    public List<PromoEvaluation> getEvaluations() { return evaluations; }
+    public void setEvaluations(List<PromoEvaluation> evaluations) { this.evaluations = evaluations; }
+
+    public static class PromoEvaluation {
+        private String code;
+        private boolean applicable;
+        private String message;
+        private BigDecimal discountAmount;
+
+        public PromoEvaluation(String code, boolean applicable, String message, BigDecimal discountAmount) {
+            this.code = code;
+            this.applicable = applicable;
+            this.message = message;
+            this.discountAmount = discountAmount;
+        }
+
+        public String getCode() { return code; }
+        public void setCode(String code) { this.code = code; }
+
+        public boolean isApplicable() { return applicable; }
+        public void setApplicable(boolean applicable) { this.applicable = applicable; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+
+        public BigDecimal getDiscountAmount() { return discountAmount; }
+        public void setDiscountAmount(BigDecimal discountAmount) { this.discountAmount = discountAmount; }
+    }
+}
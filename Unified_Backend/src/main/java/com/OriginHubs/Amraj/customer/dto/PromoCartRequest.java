@@ -0,0 +1,28 @@
+package com.OriginHubs.Amraj.customer.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public class PromoCartRequest {
+    private Long userId;
+    private UUID hubId;
+    private BigDecimal orderAmount; // defaults to the sum of the items
+    private List<CustomerCreateOrderRequest.OrderItemDto> items;
+    private List<String> promoCodes; // empty = every active code
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public UUID getHubId() { return hubId; }
+    public void setHubId(UUID hubId) { this.hubId = hubId; }
+
+    public BigDecimal getOrderAmount() { return orderAmount; }
+    public void setOrderAmount(BigDecimal orderAmount) { this.orderAmount = orderAmount; }
+
+    public List<CustomerCreateOrderRequest.OrderItemDto> getItems() { return items; }
+    public void setItems(List<CustomerCreateOrderRequest.OrderItemDto> items) { this.items = items; }
+
+    public List<String> getPromoCodes() { return promoCodes; }
+    public void setPromoCodes(List<String> promoCodes) { this.promoCodes = promoCodes; }
+}
@@ -9,10 +9,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.OriginHubs.Amraj.customer.dto.CustomerAddressRequest;
 import com.OriginHubs.Amraj.customer.dto.CustomerAddressResponse;
+import com.OriginHubs.Amraj.dto.NearestHubResponse;
+import com.OriginHubs.Amraj.dto.ServiceabilityResponse;
 import com.OriginHubs.Amraj.model.Address;
 import com.OriginHubs.Amraj.model.User;
 import com.OriginHubs.Amraj.repository.AddressRepository;
 import com.OriginHubs.Amraj.repository.UserRepository;
+import com.OriginHubs.Amraj.service.DeliveryZoneIndex;
+import com.OriginHubs.Amraj.service.NearestHubIndex;
 
 @Service
 public class CustomerAddressService {
@@ -23,6 +27,12 @@ public class CustomerAddressService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NearestHubIndex nearestHubIndex;
+
+    @Autowired
+    private DeliveryZoneIndex deliveryZoneIndex;
+
     public List<CustomerAddressResponse> getUserAddresses(Long userId) {
         List<Address> addresses = addressRepository.findByUserId(userId);
         // Mark first address as default in memory
@@ -30,7 +40,7 @@ public class CustomerAddressService {
             addresses.get(0).setIsDefault(true);
         }
         return addresses.stream()
-                .map(CustomerAddressResponse::new)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
@@ -48,10 +58,11 @@ public class CustomerAddressService {
         address.setState(request.getState());
         address.setZipCode(request.getZipCode());
         address.setCountry(request.getCountry());
+        setCoordinates(address, request);
         // isDefault is @Transient so it won't be saved to DB
 
         Address savedAddress = addressRepository.save(address);
-        return new CustomerAddressResponse(savedAddress);
+        return toResponse(savedAddress);
     }
 
     @Transactional
@@ -66,10 +77,11 @@ public class CustomerAddressService {
         address.setState(request.getState());
         address.setZipCode(request.getZipCode());
         address.setCountry(request.getCountry());
+        setCoordinates(address, request);
         // isDefault is @Transient so it won't be saved to DB
 
         Address updatedAddress = addressRepository.save(address);
-        return new CustomerAddressResponse(updatedAddress);
+        return toResponse(updatedAddress);
     }
 
     @Transactional
@@ -89,7 +101,7 @@ public class CustomerAddressService {
         // Since isDefault is not in DB, we can't actually set it
         // Just return the address and mark it as default in memory
         address.setIsDefault(true);
-        return new CustomerAddressResponse(address);
+        return toResponse(address);
     }
 
     public CustomerAddressResponse getDefaultAddress(Long userId) {
@@ -101,6 +113,38 @@ public class CustomerAddressService {
         // Return first address as default
         Address firstAddress = addresses.get(0);
         firstAddress.setIsDefault(true);  // Mark it as default in memory
-        return new CustomerAddressResponse(firstAddress);
+        return toResponse(firstAddress);
+    }
+
+    private void setCoordinates(Address address, CustomerAddressRequest request) {
+        Double latitude = request.getLatitude();
+        Double longitude = request.getLongitude();
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be given together");
+        }
+        if (latitude != null && (Math.abs(latitude) > 90 || Math.abs(longitude) > 180)) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        address.setLatitude(latitude);
+        address.setLongitude(longitude);
+    }
+
+    private CustomerAddressResponse toResponse(Address address) {
+        CustomerAddressResponse response = new CustomerAddressResponse(address);
+        if (address.getLatitude() != null && address.getLongitude() != null) {
+            NearestHubResponse hub = nearestHubIndex.nearestOne(address.getLatitude(), address.getLongitude());
+            if (hub != null) {
+                response.setNearestHubId(hub.hubId());
+                response.setNearestHubName(hub.name());
+                response.setNearestHubDistanceKm(hub.distanceKm());
+            }
+            if (deliveryZoneIndex.hasZones()) {
+                ServiceabilityResponse zone = deliveryZoneIndex.resolve(address.getLatitude(), address.getLongitude());
+                response.setServiceable(zone.serviceable());
+                response.setServingHubId(zone.hubId());
+                response.setServingHubName(zone.hubName());
+            }
+        }
+        return response;
     }
 }
@@ -1,90 +1,166 @@
 package com.OriginHubs.Amraj.customer.service;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.OriginHubs.Amraj.customer.dto.CustomerFavoriteProductInfo;
 import com.OriginHubs.Amraj.customer.dto.CustomerFavoriteResponse;
-import com.OriginHubs.Amraj.model.Favorite;
-import com.OriginHubs.Amraj.model.Product;
 import com.OriginHubs.Amraj.repository.FavoriteRepository;
-import com.OriginHubs.Amraj.repository.ProductRepository;
 
 @Service
 public class CustomerFavoriteService {
+
+    private static final int MAX_CACHED_USERS = 10_000;
+    private static final int VERSION_STRIPES = 1024;
     
     @Autowired
     private FavoriteRepository favoriteRepository;
-    
-    @Autowired
-    private ProductRepository productRepository;
+
+    // Favorite product ids per user (LRU), so catalog-wide isFavorite checks don't hit the database
+    private final Map<Long, Set<Long>> favoriteIdsByUser = Collections.synchronizedMap(
+        new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Set<Long>> eldest) {
+                return size() > MAX_CACHED_USERS;
+            }
+        });
+
+    // Committed favorite writes per stripe of users, guarded by favoriteIdsByUser's lock. A load
+    // only caches its result when no write for the user committed while it read the database.
+    private final long[] writeVersions = new long[VERSION_STRIPES];
     
     public List<CustomerFavoriteResponse> getUserFavorites(Long userId) {
-        List<Favorite> favorites = favoriteRepository.findByUserId(userId);
-        return favorites.stream()
+        long version = writeVersion(userId);
+        List<Object[]> rows = favoriteRepository.findFavoriteRowsByUserId(userId);
+        List<CustomerFavoriteResponse> favorites = rows.stream()
             .map(this::convertToResponse)
             .collect(Collectors.toList());
+        cacheLoaded(userId, version, favorites.stream()
+            .map(CustomerFavoriteResponse::getProductId)
+            .collect(Collectors.toUnmodifiableSet()));
+        return favorites;
     }
     
+    @Transactional
     public CustomerFavoriteResponse addFavorite(Long userId, Long productId) {
-        // Check if already exists
-        if (favoriteRepository.existsByUserIdAndProductId(userId, productId)) {
-            // Return existing favorite
-            Favorite existing = favoriteRepository.findByUserIdAndProductId(userId, productId)
-                .orElseThrow(() -> new RuntimeException("Favorite not found"));
-            return convertToResponse(existing);
-        }
+        // Single upsert: inserts only when the product exists, keeps an existing favorite as is
+        favoriteRepository.insertIfAbsent(userId, productId);
         
-        // Verify product exists
-        productRepository.findById(productId)
+        CustomerFavoriteResponse response = favoriteRepository.findFavoriteRow(userId, productId).stream()
+            .findFirst()
+            .map(this::convertToResponse)
             .orElseThrow(() -> new RuntimeException("Product not found"));
-        
-        Favorite favorite = new Favorite();
-        favorite.setUserId(userId);
-        favorite.setProductId(productId);
-        
-        Favorite saved = favoriteRepository.save(favorite);
-        return convertToResponse(saved);
+        updateCachedIds(userId, productId, true);
+        return response;
     }
     
     @Transactional
     public void removeFavorite(Long userId, Long productId) {
         favoriteRepository.deleteByUserIdAndProductId(userId, productId);
+        updateCachedIds(userId, productId, false);
     }
     
     public boolean isFavorite(Long userId, Long productId) {
-        return favoriteRepository.existsByUserIdAndProductId(userId, productId);
+        return getFavoriteProductIds(userId).contains(productId);
+    }
+
+    public Set<Long> getFavoriteProductIds(Long userId) {
+        Set<Long> cached = favoriteIdsByUser.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long version = writeVersion(userId);
+        Set<Long> loaded = Set.copyOf(favoriteRepository.findProductIdsByUserId(userId));
+        cacheLoaded(userId, version, loaded);
+        return loaded;
+    }
+
+    private long writeVersion(Long userId) {
+        synchronized (favoriteIdsByUser) {
+            return writeVersions[stripe(userId)];
+        }
+    }
+
+    private void cacheLoaded(Long userId, long version, Set<Long> loaded) {
+        synchronized (favoriteIdsByUser) {
+            if (writeVersions[stripe(userId)] == version) {
+                favoriteIdsByUser.putIfAbsent(userId, loaded);
+            }
+        }
+    }
+
+    /**
+     * Apply a favorite write to the cache once its transaction commits; a rollback leaves the cache alone.
+     */
+    private void updateCachedIds(Long userId, Long productId, boolean favorite) {
+        Runnable apply = () -> {
+            synchronized (favoriteIdsByUser) {
+                writeVersions[stripe(userId)]++;
+                // Copy-on-write so readers never see a set being modified
+                favoriteIdsByUser.computeIfPresent(userId, (id, current) -> {
+                    Set<Long> updated = new HashSet<>(current);
+                    if (favorite) {
+                        updated.add(productId);
+                    } else {
+                        updated.remove(productId);
+                    }
+                    return Collections.unmodifiableSet(updated);
+                });
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(userId.hashCode(), VERSION_STRIPES);
     }
     
-    private CustomerFavoriteResponse convertToResponse(Favorite favorite) {
+    private CustomerFavoriteResponse convertToResponse(Object[] row) {
         CustomerFavoriteResponse response = new CustomerFavoriteResponse();
-        response.setId(favorite.getId());
-        response.setUserId(favorite.getUserId());
-        response.setProductId(favorite.getProductId());
-        response.setCreatedAt(favorite.getCreatedAt());
+        response.setId((Long) row[0]);
+        response.setUserId((Long) row[1]);
+        response.setProductId((Long) row[2]);
+        response.setCreatedAt((LocalDateTime) row[3]);
         
-        // Fetch product details
-        productRepository.findById(favorite.getProductId()).ifPresent(product -> {
-            response.setProduct(convertProductToResponse(product));
-        });
+        if (row[9] != null) {
+            response.setProduct(convertProductToResponse(row));
+        }
         
         return response;
     }
     
-    private CustomerFavoriteProductInfo convertProductToResponse(Product product) {
+    private CustomerFavoriteProductInfo convertProductToResponse(Object[] row) {
         CustomerFavoriteProductInfo productResponse = new CustomerFavoriteProductInfo();
-        productResponse.setId(product.getId());
-        productResponse.setName(product.getName());
-        productResponse.setPrice(product.getPrice());
-        productResponse.setCardImage(product.getImageUrl());
-        productResponse.setVariety(product.getVariety());
+        productResponse.setId((Long) row[9]);
+        productResponse.setName((String) row[4]);
+        productResponse.setPrice((Double) row[5]);
+        productResponse.setCardImage((String) row[6]);
+        productResponse.setVariety((String) row[7]);
         // Note: Weight is not in Product model, using availableKg as string
-        if (product.getAvailableKg() != null) {
-            productResponse.setWeight(product.getAvailableKg() + " kg");
+        Double availableKg = (Double) row[8];
+        if (availableKg != null) {
+            productResponse.setWeight(availableKg + " kg");
         }
         // Note: Rating is not in Product model, you may need to add it or calculate it
         productResponse.setRating(4.5); // Default rating for now
@@ -6,6 +6,7 @@ import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,13 +17,19 @@ import com.OriginHubs.Amraj.customer.dto.CustomerCreateOrderRequest;
 import com.OriginHubs.Amraj.customer.dto.CustomerOrderResponse;
 import com.OriginHubs.Amraj.customer.dto.CustomerOrderTrackingResponse;
 import com.OriginHubs.Amraj.customer.model.OrderStatus;
+import com.OriginHubs.Amraj.dto.NearestHubResponse;
+import com.OriginHubs.Amraj.dto.ServiceabilityResponse;
 import com.OriginHubs.Amraj.model.Order;
 import com.OriginHubs.Amraj.model.OrderItem;
 import com.OriginHubs.Amraj.model.Product;
 import com.OriginHubs.Amraj.model.User;
+import com.OriginHubs.Amraj.repository.HubRepository;
 import com.OriginHubs.Amraj.repository.OrderRepository;
 import com.OriginHubs.Amraj.repository.ProductRepository;
 import com.OriginHubs.Amraj.repository.UserRepository;
+import com.OriginHubs.Amraj.service.DeliveryZoneIndex;
+import com.OriginHubs.Amraj.service.NearestHubIndex;
+import com.OriginHubs.Amraj.service.ProductCoOccurrenceService;
 
 @Service
 public class CustomerOrderService {
@@ -45,6 +52,21 @@ public class CustomerOrderService {
     @Autowired
     private PromoCodeService promoCodeService;
 
+    @Autowired
+    private ProductCoOccurrenceService productCoOccurrenceService;
+
+    @Autowired
+    private PromoRedemptionIndex promoRedemptionIndex;
+
+    @Autowired
+    private NearestHubIndex nearestHubIndex;
+
+    @Autowired
+    private DeliveryZoneIndex deliveryZoneIndex;
+
+    @Autowired
+    private HubRepository hubRepository;
+
     @Transactional
     public CustomerOrderResponse createOrder(CustomerCreateOrderRequest request) {
         // Find user
@@ -59,39 +81,104 @@ public class CustomerOrderService {
         order.setStatus("PENDING");
         order.setCreatedAt(OffsetDateTime.now());
         order.setIssueFlag(false);
+
+        // With delivery coordinates, the zone containing them picks the hub; before any
+        // zones are configured, the closest active hub does. Once zones exist, an order
+        // cannot skip the serviceability check by leaving the coordinates out
+        if (request.getDeliveryLatitude() != null && request.getDeliveryLongitude() != null) {
+            double latitude = request.getDeliveryLatitude();
+            double longitude = request.getDeliveryLongitude();
+            order.setDeliveryLatitude(latitude);
+            order.setDeliveryLongitude(longitude);
+            if (deliveryZoneIndex.hasZones()) {
+                ServiceabilityResponse zone = deliveryZoneIndex.resolve(latitude, longitude);
+                if (!zone.serviceable()) {
+                    throw new IllegalArgumentException("Delivery address is outside every serviceable zone");
+                }
+                order.setHub(hubRepository.getReferenceById(zone.hubId()));
+            } else {
+                NearestHubResponse hub = nearestHubIndex.nearestOne(latitude, longitude);
+                if (hub != null) {
+                    order.setHub(hubRepository.getReferenceById(hub.hubId()));
+                }
+            }
+        } else if (deliveryZoneIndex.hasZones()) {
+            throw new IllegalArgumentException("Delivery coordinates are required to check serviceability");
+        }
+
+        List<Product> products = new ArrayList<>();
+        if (request.getItems() != null) {
+            for (CustomerCreateOrderRequest.OrderItemDto itemDto : request.getItems()) {
+                products.add(productRepository.findById(itemDto.getProductId())
+                        .orElseThrow(() -> new RuntimeException("Product not found: " + itemDto.getProductId())));
+            }
+        }
         
         // Handle promo code if provided
         if (request.getPromoCode() != null && !request.getPromoCode().trim().isEmpty()) {
-            order.setPromoCode(request.getPromoCode().trim().toUpperCase());
-            order.setDiscountAmount(request.getDiscountAmount());
+            String promoCode = request.getPromoCode().trim().toUpperCase();
+            UUID hubId = order.getHub() != null ? order.getHub().getId() : null;
+            // The discount is computed here with the cart priced from the catalogue; the client's
+            // line prices and discount are not trusted. Only a cart without items uses the subtotal sent
+            BigDecimal discount = promoCodeService.calculateCheckoutDiscount(promoCode, user.getId(), hubId,
+                    request.getSubtotal(), catalogPriced(request.getItems(), products));
+            order.setPromoCode(promoCode);
+            order.setDiscountAmount(discount);
+            if (order.getTotalAmount() != null) {
+                BigDecimal clientDiscount = request.getDiscountAmount() != null ? request.getDiscountAmount() : BigDecimal.ZERO;
+                order.setTotalAmount(order.getTotalAmount().add(clientDiscount).subtract(discount));
+            }
             // Increment promo code usage count
-            promoCodeService.incrementUsageCount(request.getPromoCode());
+            promoCodeService.incrementUsageCount(promoCode);
         }
 
         // Save order first
         order = orderRepository.save(order);
+        if (order.getPromoCode() != null) {
+            promoRedemptionIndex.recordRedemption(user.getId(), order.getPromoCode(), order.getId());
+        }
 
         // Create and save order items
         if (request.getItems() != null && !request.getItems().isEmpty()) {
             List<OrderItem> orderItems = new ArrayList<>();
-            for (CustomerCreateOrderRequest.OrderItemDto itemDto : request.getItems()) {
-                Product product = productRepository.findById(itemDto.getProductId())
-                        .orElseThrow(() -> new RuntimeException("Product not found: " + itemDto.getProductId()));
-
+            for (int i = 0; i < request.getItems().size(); i++) {
+                CustomerCreateOrderRequest.OrderItemDto itemDto = request.getItems().get(i);
                 OrderItem orderItem = new OrderItem();
                 orderItem.setOrder(order);
-                orderItem.setProduct(product);
+                orderItem.setProduct(products.get(i));
                 orderItem.setQuantity(itemDto.getQuantity());
                 orderItem.setPrice(itemDto.getPricePerUnit());
                 orderItems.add(orderItem);
             }
             orderItemRepository.saveAll(orderItems);
             order.setOrderItems(orderItems);
+            productCoOccurrenceService.recordOrder(order.getId(), user.getId(),
+                    orderItems.stream().map(item -> item.getProduct().getId()).toList());
         }
 
         return mapToResponse(order);
     }
 
+    /**
+     * Copies of the ordered items priced at their product's catalogue price.
+     */
+    private static List<CustomerCreateOrderRequest.OrderItemDto> catalogPriced(
+            List<CustomerCreateOrderRequest.OrderItemDto> items, List<Product> products) {
+        if (items == null) {
+            return null;
+        }
+        List<CustomerCreateOrderRequest.OrderItemDto> priced = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            CustomerCreateOrderRequest.OrderItemDto item = new CustomerCreateOrderRequest.OrderItemDto();
+            item.setProductId(items.get(i).getProductId());
+            item.setQuantity(items.get(i).getQuantity());
+            Double price = products.get(i).getPrice();
+            item.setPricePerUnit(price != null ? BigDecimal.valueOf(price) : null);
+            priced.add(item);
+        }
+        return priced;
+    }
+
     public CustomerOrderResponse getOrderByOrderId(String orderId) {
         // orderId is now numeric, parse it to Long
         try {
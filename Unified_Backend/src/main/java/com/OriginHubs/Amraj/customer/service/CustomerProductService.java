@@ -7,9 +7,11 @@ import com.OriginHubs.Amraj.repository.ProductRepository;
 import com.OriginHubs.Amraj.repository.ImageRepository;
 import com.OriginHubs.Amraj.repository.ReviewRepository;
 import com.OriginHubs.Amraj.customer.dto.ProductWithImagesDTO;
+import com.OriginHubs.Amraj.service.ProductAvailabilityIndex;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,11 +20,14 @@ public class CustomerProductService {
     private final ProductRepository productRepository;
     private final ImageRepository imageRepository;
     private final ReviewRepository reviewRepository;
+    private final ProductAvailabilityIndex productAvailabilityIndex;
 
-    public CustomerProductService(ProductRepository productRepository, ImageRepository imageRepository, ReviewRepository reviewRepository) {
+    public CustomerProductService(ProductRepository productRepository, ImageRepository imageRepository, ReviewRepository reviewRepository,
+                                  ProductAvailabilityIndex productAvailabilityIndex) {
         this.productRepository = productRepository;
         this.imageRepository = imageRepository;
         this.reviewRepository = reviewRepository;
+        this.productAvailabilityIndex = productAvailabilityIndex;
     }
 
     public List<ProductWithImagesDTO> getAllProducts() {
@@ -40,6 +45,16 @@ public class CustomerProductService {
             .collect(Collectors.toList());
     }
 
+    public List<ProductWithImagesDTO> getProductsAtHub(UUID hubId, String category) {
+        List<Long> productIds = productAvailabilityIndex.getProductsAtHub(hubId, category);
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        return productRepository.findAllById(productIds).stream()
+            .map(this::mapToDTO)
+            .collect(Collectors.toList());
+    }
+
     private ProductWithImagesDTO mapToDTO(Product product) {
         List<Image> images = new ArrayList<>(imageRepository.findByReferenceTypeAndReferenceId("PRODUCT", product.getId()));
         
@@ -0,0 +1,178 @@
+package com.OriginHubs.Amraj.customer.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.OriginHubs.Amraj.model.PromoCode;
+import com.OriginHubs.Amraj.repository.PromoCodeRepository;
+
+/**
+ * In-memory view of the active promo codes keyed by normalized code, so checkout
+ * validation is a map lookup. Writes go through {@link #put} and {@link #evict};
+ * the whole view is also reloaded on a fixed delay to pick up changes made outside
+ * the application. Codes inside their validity window are tracked as live; the
+ * window boundaries are flipped by {@link PromoScheduleService}.
+ * Cached entities are shared between threads and must be treated as read-only.
+ */
+@Service
+public class PromoCodeCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(PromoCodeCatalog.class);
+
+    private final PromoCodeRepository promoCodeRepository;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    // Copy-on-write snapshots; readers never lock
+    private volatile Map<String, PromoCode> activeByCode = Map.of();
+    private volatile Set<String> liveCodes = Set.of();
+    private volatile boolean loaded;
+
+    public PromoCodeCatalog(PromoCodeRepository promoCodeRepository) {
+        this.promoCodeRepository = promoCodeRepository;
+    }
+
+    /**
+     * Notified with the codes that were (re)loaded after every refresh or put.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onPromoCodesLoaded(Collection<PromoCode> promoCodes);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public static String normalize(String code) {
+        return code == null ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public Optional<PromoCode> findActive(String code) {
+        if (!loaded) {
+            refresh();
+        }
+        String key = normalize(code);
+        return key == null ? Optional.empty() : Optional.ofNullable(activeByCode.get(key));
+    }
+
+    /**
+     * Whether the active code is currently inside its validity window.
+     */
+    public boolean isLive(String code) {
+        return liveCodes.contains(code);
+    }
+
+    public synchronized void markLive(String code, boolean live) {
+        Set<String> next = new HashSet<>(liveCodes);
+        if (live ? next.add(code) : next.remove(code)) {
+            liveCodes = next;
+        }
+    }
+
+    /**
+     * Current read-only snapshot. A new map instance is published on every change,
+     * so callers can cache derived data against the instance they were given.
+     */
+    public Map<String, PromoCode> snapshot() {
+        if (!loaded) {
+            refresh();
+        }
+        return activeByCode;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.promo-cache.refresh-ms:300000}", initialDelayString = "${app.promo-cache.refresh-ms:300000}")
+    public synchronized void refresh() {
+        Map<String, PromoCode> fresh = new HashMap<>();
+        Set<String> live = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (PromoCode promoCode : promoCodeRepository.findAll()) {
+            if (Boolean.TRUE.equals(promoCode.getIsActive()) && promoCode.getCode() != null) {
+                String key = normalize(promoCode.getCode());
+                fresh.put(key, promoCode);
+                if (isWithinWindow(promoCode, now)) {
+                    live.add(key);
+                }
+            }
+        }
+        activeByCode = fresh;
+        liveCodes = live;
+        loaded = true;
+        notifyListeners(fresh.values());
+        log.debug("Loaded {} active promo codes", fresh.size());
+    }
+
+    /**
+     * Replace the cached entry for a created or updated promo code. Inactive codes are removed.
+     */
+    public synchronized void put(PromoCode promoCode) {
+        Map<String, PromoCode> next = new HashMap<>(activeByCode);
+        Set<String> live = new HashSet<>(liveCodes);
+        if (promoCode.getId() != null) {
+            removeById(next, live, promoCode.getId());
+        }
+        if (Boolean.TRUE.equals(promoCode.getIsActive()) && promoCode.getCode() != null) {
+            String key = normalize(promoCode.getCode());
+            next.put(key, promoCode);
+            if (isWithinWindow(promoCode, LocalDateTime.now())) {
+                live.add(key);
+            }
+        }
+        activeByCode = next;
+        liveCodes = live;
+        notifyListeners(List.of(promoCode));
+    }
+
+    public synchronized void evict(Long promoCodeId) {
+        Map<String, PromoCode> next = new HashMap<>(activeByCode);
+        Set<String> live = new HashSet<>(liveCodes);
+        if (removeById(next, live, promoCodeId)) {
+            activeByCode = next;
+            liveCodes = live;
+        }
+    }
+
+    private static boolean removeById(Map<String, PromoCode> codes, Set<String> live, Long promoCodeId) {
+        boolean removed = false;
+        var entries = codes.entrySet().iterator();
+        while (entries.hasNext()) {
+            var entry = entries.next();
+            if (promoCodeId.equals(entry.getValue().getId())) {
+                live.remove(entry.getKey());
+                entries.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    private static boolean isWithinWindow(PromoCode promoCode, LocalDateTime now) {
+        return (promoCode.getValidFrom() == null || !now.isBefore(promoCode.getValidFrom()))
+                && (promoCode.getValidUntil() == null || !now.isAfter(promoCode.getValidUntil()));
+    }
+
+    private void notifyListeners(Collection<PromoCode> promoCodes) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onPromoCodesLoaded(promoCodes);
+            } catch (RuntimeException e) {
+                log.error("Promo catalog listener failed", e);
+            }
+        }
+    }
+}
@@ -1,25 +1,31 @@
 package com.OriginHubs.Amraj.customer.service;
 
+import com.OriginHubs.Amraj.customer.dto.CustomerCreateOrderRequest;
+import com.OriginHubs.Amraj.customer.dto.PromoCartEvaluationResponse;
+import com.OriginHubs.Amraj.customer.dto.PromoCartEvaluationResponse.PromoEvaluation;
+import com.OriginHubs.Amraj.customer.dto.PromoCartRequest;
 import com.OriginHubs.Amraj.customer.dto.PromoCodeValidationRequest;
 import com.OriginHubs.Amraj.customer.dto.PromoCodeValidationResponse;
 import com.OriginHubs.Amraj.model.PromoCode;
-import com.OriginHubs.Amraj.repository.PromoCodeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class PromoCodeService {
 
     @Autowired
-    private PromoCodeRepository promoCodeRepository;
+    private PromoCodeCatalog promoCodeCatalog;
 
     @Autowired
-    private com.OriginHubs.Amraj.repository.OrderRepository orderRepository;
+    private PromoUsageCounter promoUsageCounter;
+
+    @Autowired
+    private PromoRulesEngine promoRulesEngine;
 
     @Autowired
     private com.OriginHubs.Amraj.repository.ProductRepository productRepository;
@@ -29,90 +35,65 @@ public class PromoCodeService {
     }
 
     public PromoCodeValidationResponse validatePromoCode(PromoCodeValidationRequest request, Long userId) {
-        String code = request.getPromoCode().trim().toUpperCase();
+        String code = PromoCodeCatalog.normalize(request.getPromoCode());
         Long requestUserId = request.getUserId();
         BigDecimal orderAmount = request.getOrderAmount();
+        if (orderAmount == null) {
+            return new PromoCodeValidationResponse(false, "Order amount is required");
+        }
 
-        Optional<PromoCode> promoCodeOpt = promoCodeRepository.findByCodeAndIsActiveTrue(code);
+        Optional<PromoCode> promoCodeOpt = promoCodeCatalog.findActive(code);
         
         if (promoCodeOpt.isEmpty()) {
             return new PromoCodeValidationResponse(false, "Promo code not found");
         }
 
         PromoCode promoCode = promoCodeOpt.get();
-        
-        String message = "Valid promo code";
-        boolean isValid = true;
-        
-        // Check if expired
-        LocalDateTime now = LocalDateTime.now();
-        if (promoCode.getValidUntil() != null && now.isAfter(promoCode.getValidUntil())) {
-            message = "Expired on " + promoCode.getValidUntil().toLocalDate();
-            isValid = false;
-        }
-        // Check if not yet valid
-        else if (promoCode.getValidFrom() != null && now.isBefore(promoCode.getValidFrom())) {
-            message = "Valid from " + promoCode.getValidFrom().toLocalDate();
-            isValid = false;
-        }
-        // Check usage limit
-        else if (promoCode.getUsageLimit() != null && promoCode.getUsedCount() >= promoCode.getUsageLimit()) {
-            message = "Usage limit reached";
-            isValid = false;
-        }
-        // Check per-user limit
-        else if (requestUserId != null && promoCode.getPerUserLimit() != null && promoCode.getPerUserLimit() == 1 && hasUserUsedPromoCode(requestUserId, code)) {
-            message = "Already used by you";
-            isValid = false;
-        }
-        // Check minimum order amount
-        else if (promoCode.getMinOrderAmount() != null && orderAmount.compareTo(promoCode.getMinOrderAmount()) < 0) {
-            message = "Minimum order amount of ₹" + promoCode.getMinOrderAmount() + " required";
-            isValid = false;
+        PromoEvaluation evaluation = promoRulesEngine.evaluate(code,
+            promoRulesEngine.newCart(requestUserId, null, orderAmount, null));
+        if (evaluation == null) {
+            return new PromoCodeValidationResponse(false, "Promo code not found");
         }
-        
-        return new PromoCodeValidationResponse(isValid, message,
-            promoCode.getDiscountValue(), null, promoCode.getDiscountType(), promoCode.getMinOrderAmount());
+
+        BigDecimal discount = evaluation.getDiscountAmount();
+        BigDecimal finalAmount = discount != null ? orderAmount.subtract(discount) : null;
+        return new PromoCodeValidationResponse(evaluation.isApplicable(), evaluation.getMessage(),
+            discount, finalAmount, promoCode.getDiscountType(), promoCode.getMinOrderAmount());
     }
 
-    private BigDecimal calculateDiscount(PromoCode promoCode, BigDecimal orderAmount) {
-        if (orderAmount == null) {
-            return BigDecimal.ZERO;
-        }
-        
-        BigDecimal discount;
-        
-        if ("PERCENTAGE".equals(promoCode.getDiscountType())) {
-            discount = orderAmount.multiply(promoCode.getDiscountValue())
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        } else {
-            discount = promoCode.getDiscountValue();
-        }
+    /**
+     * Evaluate every requested (or every active) promo against the cart and return the best discount.
+     */
+    public PromoCartEvaluationResponse evaluateCart(PromoCartRequest request) {
+        return promoRulesEngine.evaluateCart(request);
+    }
 
-        // Apply maximum discount limit
-        if (promoCode.getMaxDiscountAmount() != null && 
-            discount.compareTo(promoCode.getMaxDiscountAmount()) > 0) {
-            discount = promoCode.getMaxDiscountAmount();
+    /**
+     * Discount the code gives this cart at checkout. The cart is priced from its items when
+     * it has any, otherwise from the subtotal; callers pass items carrying catalogue prices.
+     * Throws when the code does not apply.
+     */
+    public BigDecimal calculateCheckoutDiscount(String code, Long userId, UUID hubId, BigDecimal subtotal,
+                                                List<CustomerCreateOrderRequest.OrderItemDto> items) {
+        boolean hasItems = items != null && !items.isEmpty();
+        PromoEvaluation evaluation = promoRulesEngine.evaluate(code,
+            promoRulesEngine.newCart(userId, hubId, hasItems ? null : subtotal, items));
+        if (evaluation == null) {
+            throw new IllegalArgumentException("Promo code not found");
         }
-
-        // Ensure discount doesn't exceed order amount
-        if (discount.compareTo(orderAmount) > 0) {
-            discount = orderAmount;
+        if (!evaluation.isApplicable()) {
+            throw new IllegalArgumentException(evaluation.getMessage());
         }
-
-        return discount;
+        return evaluation.getDiscountAmount();
     }
 
+    /**
+     * Count one redemption of the code. Throws when the usage limit has been reached in the meantime.
+     */
     public void incrementUsageCount(String code) {
-        Optional<PromoCode> promoCodeOpt = promoCodeRepository.findByCodeAndIsActiveTrue(code.trim().toUpperCase());
-        if (promoCodeOpt.isPresent()) {
-            PromoCode promoCode = promoCodeOpt.get();
-            promoCode.setUsedCount(promoCode.getUsedCount() + 1);
-            promoCodeRepository.save(promoCode);
+        Optional<PromoCode> promoCodeOpt = promoCodeCatalog.findActive(code);
+        if (promoCodeOpt.isPresent() && !promoUsageCounter.tryReserve(promoCodeOpt.get())) {
+            throw new RuntimeException("Promo code usage limit reached");
         }
     }
-
-    private boolean hasUserUsedPromoCode(Long userId, String promoCode) {
-        return orderRepository.existsByCustomerIdAndPromoCode(userId, promoCode.trim().toUpperCase());
-    }
 }
\ No newline at end of file
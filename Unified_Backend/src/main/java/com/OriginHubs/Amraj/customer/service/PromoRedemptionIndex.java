@@ -0,0 +1,120 @@
+package com.OriginHubs.Amraj.customer.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.OriginHubs.Amraj.model.PromoRedemption;
+import com.OriginHubs.Amraj.repository.PromoRedemptionRepository;
+import com.OriginHubs.Amraj.util.BloomFilter;
+
+/**
+ * Answers "has this customer used this code" from promo_redemptions. Each code keeps a
+ * Bloom filter of the user ids that redeemed it, so the common never-used case returns
+ * without a query; only filter hits are confirmed against the table.
+ */
+@Service
+public class PromoRedemptionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PromoRedemptionIndex.class);
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_EXPECTED_USERS = 1024;
+
+    private final PromoRedemptionRepository promoRedemptionRepository;
+    private final Map<String, CodeFilter> filtersByCode = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public PromoRedemptionIndex(PromoRedemptionRepository promoRedemptionRepository) {
+        this.promoRedemptionRepository = promoRedemptionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<String, List<Long>> usersByCode = new HashMap<>();
+        for (Object[] row : promoRedemptionRepository.findAllCodeUserPairs()) {
+            usersByCode.computeIfAbsent((String) row[0], k -> new ArrayList<>()).add(((Number) row[1]).longValue());
+        }
+        // Merge rather than replace, so redemptions recorded while loading are kept
+        usersByCode.forEach((code, userIds) -> {
+            // Sized at twice the current users so the filter has room to grow
+            CodeFilter filter = filtersByCode.computeIfAbsent(code, k -> new CodeFilter(userIds.size() * 2));
+            userIds.forEach(filter::add);
+        });
+        loaded = true;
+        log.info("Loaded promo redemption filters for {} codes", usersByCode.size());
+    }
+
+    public boolean hasRedeemed(Long userId, String code) {
+        String key = PromoCodeCatalog.normalize(code);
+        if (loaded && !mightHaveRedeemed(userId, key)) {
+            return false;
+        }
+        return promoRedemptionRepository.existsByUserIdAndCode(userId, key);
+    }
+
+    public long countRedemptions(Long userId, String code) {
+        String key = PromoCodeCatalog.normalize(code);
+        if (loaded && !mightHaveRedeemed(userId, key)) {
+            return 0;
+        }
+        return promoRedemptionRepository.countByUserIdAndCode(userId, key);
+    }
+
+    /**
+     * Record a redemption in the caller's transaction. The filter is updated immediately;
+     * if the order rolls back the extra bits only cost one confirming query later.
+     */
+    public void recordRedemption(Long userId, String code, Long orderId) {
+        String key = PromoCodeCatalog.normalize(code);
+        PromoRedemption redemption = new PromoRedemption();
+        redemption.setUserId(userId);
+        redemption.setCode(key);
+        redemption.setOrderId(orderId);
+        promoRedemptionRepository.save(redemption);
+
+        filtersByCode.computeIfAbsent(key, k -> new CodeFilter(MIN_EXPECTED_USERS)).add(userId);
+    }
+
+    private boolean mightHaveRedeemed(Long userId, String code) {
+        CodeFilter filter = filtersByCode.get(code);
+        return filter != null && filter.mightContain(userId);
+    }
+
+    /**
+     * Grows by appending a larger filter once the newest one is full, so redemptions never
+     * have to be re-read from the table and no user id can drop out during a resize.
+     */
+    private static final class CodeFilter {
+        private final List<BloomFilter> filters = new ArrayList<>();
+
+        private CodeFilter(int expectedUsers) {
+            filters.add(new BloomFilter(Math.max(MIN_EXPECTED_USERS, expectedUsers), FALSE_POSITIVE_RATE));
+        }
+
+        private synchronized void add(long userId) {
+            BloomFilter current = filters.get(filters.size() - 1);
+            if (current.isSaturated()) {
+                current = new BloomFilter(current.getExpectedInsertions() * 2, FALSE_POSITIVE_RATE);
+                filters.add(current);
+            }
+            current.add(userId);
+        }
+
+        private synchronized boolean mightContain(long userId) {
+            for (BloomFilter filter : filters) {
+                if (filter.mightContain(userId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
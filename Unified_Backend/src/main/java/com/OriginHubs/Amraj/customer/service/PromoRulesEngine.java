@@ -0,0 +1,269 @@
+package com.OriginHubs.Amraj.customer.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.OriginHubs.Amraj.customer.dto.CustomerCreateOrderRequest;
+import com.OriginHubs.Amraj.customer.dto.PromoCartEvaluationResponse;
+import com.OriginHubs.Amraj.customer.dto.PromoCartEvaluationResponse.PromoEvaluation;
+import com.OriginHubs.Amraj.customer.dto.PromoCartRequest;
+import com.OriginHubs.Amraj.model.PromoCode;
+import com.OriginHubs.Amraj.repository.OrderRepository;
+import com.OriginHubs.Amraj.service.ProductAvailabilityIndex;
+
+/**
+ * Evaluates promo codes against a cart. Each active promo is compiled once into the
+ * list of rules its columns actually require, cheapest first, so evaluating a code
+ * only runs the checks that apply to it. Compiled promos are rebuilt whenever the
+ * {@link PromoCodeCatalog} publishes a new snapshot.
+ */
+@Service
+public class PromoRulesEngine {
+
+    private final PromoCodeCatalog promoCodeCatalog;
+    private final PromoUsageCounter promoUsageCounter;
+    private final PromoRedemptionIndex promoRedemptionIndex;
+    private final OrderRepository orderRepository;
+    private final ProductAvailabilityIndex productAvailabilityIndex;
+
+    private volatile CompiledCatalog compiled = new CompiledCatalog(null, Map.of());
+
+    public PromoRulesEngine(PromoCodeCatalog promoCodeCatalog, PromoUsageCounter promoUsageCounter,
+                            PromoRedemptionIndex promoRedemptionIndex, OrderRepository orderRepository,
+                            ProductAvailabilityIndex productAvailabilityIndex) {
+        this.promoCodeCatalog = promoCodeCatalog;
+        this.promoUsageCounter = promoUsageCounter;
+        this.promoRedemptionIndex = promoRedemptionIndex;
+        this.orderRepository = orderRepository;
+        this.productAvailabilityIndex = productAvailabilityIndex;
+    }
+
+    public Cart newCart(Long userId, UUID hubId, BigDecimal orderAmount, List<CustomerCreateOrderRequest.OrderItemDto> items) {
+        return new Cart(userId, hubId, orderAmount, items);
+    }
+
+    /**
+     * Evaluate one code. Returns null when the code is not an active promo.
+     */
+    public PromoEvaluation evaluate(String code, Cart cart) {
+        CompiledPromo promo = compiledPromos().get(PromoCodeCatalog.normalize(code));
+        return promo == null ? null : promo.evaluate(cart);
+    }
+
+    /**
+     * Evaluate the requested codes, or every active code, against the cart and pick the largest discount.
+     */
+    public PromoCartEvaluationResponse evaluateCart(PromoCartRequest request) {
+        Cart cart = newCart(request.getUserId(), request.getHubId(), request.getOrderAmount(), request.getItems());
+        Map<String, CompiledPromo> promos = compiledPromos();
+
+        List<PromoEvaluation> evaluations = new ArrayList<>();
+        if (request.getPromoCodes() == null || request.getPromoCodes().isEmpty()) {
+            for (CompiledPromo promo : promos.values()) {
+                evaluations.add(promo.evaluate(cart));
+            }
+        } else {
+            for (String code : request.getPromoCodes()) {
+                CompiledPromo promo = promos.get(PromoCodeCatalog.normalize(code));
+                evaluations.add(promo != null
+                        ? promo.evaluate(cart)
+                        : new PromoEvaluation(PromoCodeCatalog.normalize(code), false, "Promo code not found", null));
+            }
+        }
+        evaluations.sort(Comparator.comparing(PromoEvaluation::getCode, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        PromoEvaluation best = null;
+        for (PromoEvaluation evaluation : evaluations) {
+            if (evaluation.isApplicable()
+                    && (best == null || evaluation.getDiscountAmount().compareTo(best.getDiscountAmount()) > 0)) {
+                best = evaluation;
+            }
+        }
+        BigDecimal bestDiscount = best != null ? best.getDiscountAmount() : BigDecimal.ZERO;
+        return new PromoCartEvaluationResponse(best != null ? best.getCode() : null, bestDiscount,
+                cart.orderAmount, cart.orderAmount.subtract(bestDiscount), evaluations);
+    }
+
+    static BigDecimal calculateDiscount(PromoCode promoCode, BigDecimal orderAmount) {
+        if (orderAmount == null) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal discount;
+
+        if ("PERCENTAGE".equals(promoCode.getDiscountType())) {
+            discount = orderAmount.multiply(promoCode.getDiscountValue())
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+        } else {
+            discount = promoCode.getDiscountValue();
+        }
+
+        // Apply maximum discount limit
+        if (promoCode.getMaxDiscountAmount() != null &&
+            discount.compareTo(promoCode.getMaxDiscountAmount()) > 0) {
+            discount = promoCode.getMaxDiscountAmount();
+        }
+
+        // Ensure discount doesn't exceed order amount
+        if (discount.compareTo(orderAmount) > 0) {
+            discount = orderAmount;
+        }
+
+        return discount;
+    }
+
+    private Map<String, CompiledPromo> compiledPromos() {
+        Map<String, PromoCode> snapshot = promoCodeCatalog.snapshot();
+        CompiledCatalog current = compiled;
+        if (current.source == snapshot) {
+            return current.promos;
+        }
+        Map<String, CompiledPromo> promos = new HashMap<>();
+        snapshot.forEach((code, promoCode) -> promos.put(code, compile(code, promoCode)));
+        compiled = new CompiledCatalog(snapshot, promos);
+        return promos;
+    }
+
+    private CompiledPromo compile(String code, PromoCode promo) {
+        List<PromoRule> rules = new ArrayList<>();
+
+        // The window is tracked by the scheduler; dates are only compared to explain a rejection
+        rules.add(cart -> promoCodeCatalog.isLive(code) ? null : windowRejection(promo, cart.now));
+        Integer usageLimit = promo.getUsageLimit();
+        if (usageLimit != null) {
+            rules.add(cart -> promoUsageCounter.getUsedCount(promo) >= usageLimit ? "Usage limit reached" : null);
+        }
+        BigDecimal minOrderAmount = promo.getMinOrderAmount();
+        if (minOrderAmount != null) {
+            rules.add(cart -> cart.orderAmount.compareTo(minOrderAmount) < 0
+                    ? "Minimum order amount of ₹" + minOrderAmount + " required" : null);
+        }
+        UUID hubId = promo.getApplicableHubId();
+        if (hubId != null) {
+            rules.add(cart -> hubId.equals(cart.hubId) ? null : "Not valid at this hub");
+        }
+        String category = promo.getApplicableCategory() != null && !promo.getApplicableCategory().isBlank()
+                ? promo.getApplicableCategory().trim().toLowerCase(Locale.ROOT)
+                : null;
+        if (category != null) {
+            rules.add(cart -> cart.categorySubtotal(category).signum() > 0
+                    ? null : "Applies to " + promo.getApplicableCategory().trim() + " products only");
+        }
+        // Rules below may hit the database, so they run last
+        Integer perUserLimit = promo.getPerUserLimit();
+        if (perUserLimit != null && perUserLimit > 0) {
+            rules.add(cart -> cart.userId != null
+                    && promoRedemptionIndex.countRedemptions(cart.userId, code) >= perUserLimit
+                    ? (perUserLimit == 1 ? "Already used by you" : "Already used " + perUserLimit + " times by you")
+                    : null);
+        }
+        if (Boolean.TRUE.equals(promo.getFirstOrderOnly())) {
+            rules.add(cart -> cart.userId == null || cart.hasPreviousOrders() ? "Valid on first order only" : null);
+        }
+        return new CompiledPromo(code, promo, category, List.copyOf(rules));
+    }
+
+    private static String windowRejection(PromoCode promo, LocalDateTime now) {
+        if (promo.getValidFrom() != null && now.isBefore(promo.getValidFrom())) {
+            return "Valid from " + promo.getValidFrom().toLocalDate();
+        }
+        if (promo.getValidUntil() != null) {
+            return "Expired on " + promo.getValidUntil().toLocalDate();
+        }
+        return "Promo code is not active";
+    }
+
+    @FunctionalInterface
+    private interface PromoRule {
+        /**
+         * Reason the cart does not qualify, or null when it does.
+         */
+        String reject(Cart cart);
+    }
+
+    private record CompiledPromo(String code, PromoCode promo, String category, List<PromoRule> rules) {
+
+        PromoEvaluation evaluate(Cart cart) {
+            for (PromoRule rule : rules) {
+                String rejection = rule.reject(cart);
+                if (rejection != null) {
+                    return new PromoEvaluation(code, false, rejection, null);
+                }
+            }
+            // Category promos discount only the matching part of the cart
+            BigDecimal base = category != null ? cart.categorySubtotal(category) : cart.orderAmount;
+            return new PromoEvaluation(code, true, "Valid promo code", calculateDiscount(promo, base));
+        }
+    }
+
+    private record CompiledCatalog(Map<String, PromoCode> source, Map<String, CompiledPromo> promos) {
+    }
+
+    /**
+     * Evaluation input shared by every promo checked against one cart; derived values are
+     * computed on first use and reused across promos.
+     */
+    public final class Cart {
+        private final Long userId;
+        private final UUID hubId;
+        private final BigDecimal orderAmount;
+        private final List<CustomerCreateOrderRequest.OrderItemDto> items;
+        private final LocalDateTime now = LocalDateTime.now();
+        private Map<String, BigDecimal> subtotalsByCategory;
+        private Boolean previousOrders;
+
+        private Cart(Long userId, UUID hubId, BigDecimal orderAmount, List<CustomerCreateOrderRequest.OrderItemDto> items) {
+            this.userId = userId;
+            this.hubId = hubId;
+            this.items = items != null ? items : List.of();
+            this.orderAmount = orderAmount != null ? orderAmount : itemsTotal(this.items);
+        }
+
+        private BigDecimal categorySubtotal(String category) {
+            if (subtotalsByCategory == null) {
+                subtotalsByCategory = new HashMap<>();
+                for (CustomerCreateOrderRequest.OrderItemDto item : items) {
+                    String itemCategory = item.getProductId() != null
+                            ? productAvailabilityIndex.getCategory(item.getProductId())
+                            : null;
+                    if (itemCategory != null) {
+                        subtotalsByCategory.merge(itemCategory, lineTotal(item), BigDecimal::add);
+                    }
+                }
+            }
+            return subtotalsByCategory.getOrDefault(category, BigDecimal.ZERO);
+        }
+
+        private boolean hasPreviousOrders() {
+            if (previousOrders == null) {
+                previousOrders = orderRepository.existsByCustomerId(userId);
+            }
+            return previousOrders;
+        }
+    }
+
+    private static BigDecimal itemsTotal(List<CustomerCreateOrderRequest.OrderItemDto> items) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (CustomerCreateOrderRequest.OrderItemDto item : items) {
+            total = total.add(lineTotal(item));
+        }
+        return total;
+    }
+
+    private static BigDecimal lineTotal(CustomerCreateOrderRequest.OrderItemDto item) {
+        if (item.getPricePerUnit() == null || item.getQuantity() == null) {
+            return BigDecimal.ZERO;
+        }
+        return item.getPricePerUnit().multiply(BigDecimal.valueOf(item.getQuantity()));
+    }
+}
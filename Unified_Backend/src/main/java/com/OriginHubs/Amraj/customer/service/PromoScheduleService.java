@@ -0,0 +1,147 @@
+package com.OriginHubs.Amraj.customer.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import com.OriginHubs.Amraj.model.PromoCode;
+import com.OriginHubs.Amraj.util.HierarchicalTimingWheel;
+import com.OriginHubs.Amraj.websocket.AlertWebSocketHandler;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Flips promo codes at their validFrom/validUntil boundaries. Boundaries of every
+ * cached code sit in a hierarchical timing wheel advanced once per second; when one
+ * fires the code is marked live in {@link PromoCodeCatalog}, or deactivated in the
+ * database and dropped from the catalog, and the change is broadcast on /ws/alerts.
+ */
+@Service
+public class PromoScheduleService {
+
+    private static final Logger log = LoggerFactory.getLogger(PromoScheduleService.class);
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 60;
+
+    private final PromoCodeCatalog promoCodeCatalog;
+    private final JdbcTemplate jdbcTemplate;
+    private final AlertWebSocketHandler alertWebSocketHandler;
+    private final TaskScheduler taskScheduler;
+
+    private final HierarchicalTimingWheel<Boundary> wheel =
+            new HierarchicalTimingWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+    // Window last scheduled per promo id, so catalog reloads don't queue duplicate timers
+    private final Map<Long, Window> scheduledWindows = new HashMap<>();
+    // Codes loaded after their validUntil had passed; deactivated on the next tick
+    private final List<Boundary> overdue = new ArrayList<>();
+    private ScheduledFuture<?> ticker;
+
+    public PromoScheduleService(PromoCodeCatalog promoCodeCatalog, JdbcTemplate jdbcTemplate,
+                                AlertWebSocketHandler alertWebSocketHandler, TaskScheduler taskScheduler) {
+        this.promoCodeCatalog = promoCodeCatalog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.alertWebSocketHandler = alertWebSocketHandler;
+        this.taskScheduler = taskScheduler;
+    }
+
+    @PostConstruct
+    public void start() {
+        promoCodeCatalog.addListener(this::schedule);
+        ticker = taskScheduler.scheduleAtFixedRate(this::tick, Duration.ofMillis(TICK_MS));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.cancel(false);
+        }
+    }
+
+    private synchronized void schedule(Collection<PromoCode> promoCodes) {
+        long now = System.currentTimeMillis();
+        for (PromoCode promoCode : promoCodes) {
+            if (promoCode.getId() == null || promoCode.getCode() == null) {
+                continue;
+            }
+            Window window = new Window(promoCode.getValidFrom(), promoCode.getValidUntil());
+            if (window.equals(scheduledWindows.put(promoCode.getId(), window))) {
+                continue;
+            }
+            String code = PromoCodeCatalog.normalize(promoCode.getCode());
+            addBoundary(new Boundary(promoCode.getId(), code, window, true), window.validFrom, now);
+            addBoundary(new Boundary(promoCode.getId(), code, window, false), window.validUntil, now);
+        }
+    }
+
+    private void addBoundary(Boundary boundary, LocalDateTime at, long now) {
+        if (at == null) {
+            return;
+        }
+        long atMs = at.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (atMs > now) {
+            wheel.add(atMs, boundary);
+        } else if (!boundary.opens) {
+            overdue.add(boundary);
+        }
+        // A validFrom in the past is already reflected in the catalog's live set
+    }
+
+    private void tick() {
+        List<Boundary> due = new ArrayList<>();
+        synchronized (this) {
+            due.addAll(overdue);
+            overdue.clear();
+            wheel.advanceTo(System.currentTimeMillis(), due::add);
+        }
+        for (Boundary boundary : due) {
+            try {
+                fire(boundary);
+            } catch (RuntimeException e) {
+                log.error("Failed to apply promo boundary for {}", boundary.code, e);
+            }
+        }
+    }
+
+    private void fire(Boundary boundary) {
+        PromoCode current = promoCodeCatalog.findActive(boundary.code).orElse(null);
+        // Stale timer: the code was removed, renamed or given a new window since it was scheduled
+        if (current == null || !boundary.promoId.equals(current.getId())
+                || !boundary.window.equals(new Window(current.getValidFrom(), current.getValidUntil()))) {
+            return;
+        }
+
+        if (boundary.opens) {
+            promoCodeCatalog.markLive(boundary.code, true);
+            log.info("Promo code {} is now active", boundary.code);
+        } else {
+            promoCodeCatalog.markLive(boundary.code, false);
+            jdbcTemplate.update("UPDATE promo_codes SET is_active = FALSE, updated_at = NOW() WHERE id = ? AND is_active = TRUE",
+                    boundary.promoId);
+            promoCodeCatalog.evict(boundary.promoId);
+            synchronized (this) {
+                scheduledWindows.remove(boundary.promoId);
+            }
+            log.info("Promo code {} expired and was deactivated", boundary.code);
+        }
+        alertWebSocketHandler.broadcastPromoStatusChanged(boundary.code, boundary.opens);
+    }
+
+    private record Window(LocalDateTime validFrom, LocalDateTime validUntil) {
+    }
+
+    private record Boundary(Long promoId, String code, Window window, boolean opens) {
+    }
+}
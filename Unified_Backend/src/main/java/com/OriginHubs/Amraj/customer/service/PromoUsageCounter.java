@@ -0,0 +1,142 @@
+package com.OriginHubs.Amraj.customer.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.OriginHubs.Amraj.model.PromoCode;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Lock-free promo usage accounting. Each code has an in-memory counter seeded from
+ * promo_codes.used_count; redemptions reserve a slot with a compare-and-set against
+ * usageLimit, so concurrent checkouts never overshoot the limit or lose increments.
+ * Committed redemptions accumulate in a striped adder and are written back in one
+ * batched additive UPDATE per flush instead of a row update per order.
+ */
+@Service
+public class PromoUsageCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(PromoUsageCounter.class);
+    private static final String FLUSH_SQL =
+            "UPDATE promo_codes SET used_count = COALESCE(used_count, 0) + ?, updated_at = NOW() WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, Usage> usageById = new ConcurrentHashMap<>();
+
+    public PromoUsageCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int getUsedCount(PromoCode promoCode) {
+        return usageFor(promoCode).used.get();
+    }
+
+    /**
+     * Reserve one use of the code. Returns false when the usage limit is already reached.
+     * Inside a transaction the reservation is released on rollback and only queued for
+     * the database once the transaction commits.
+     */
+    public boolean tryReserve(PromoCode promoCode) {
+        Usage usage = usageFor(promoCode);
+        Integer limit = promoCode.getUsageLimit();
+        while (true) {
+            int current = usage.used.get();
+            if (limit != null && current >= limit) {
+                return false;
+            }
+            if (usage.used.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        usage.unflushed.increment();
+                    } else {
+                        usage.used.decrementAndGet();
+                    }
+                }
+            });
+        } else {
+            usage.unflushed.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Re-seed the counter after an admin write stored an explicit used_count.
+     * Redemptions not yet flushed are kept on top of the stored value.
+     */
+    public void resync(PromoCode promoCode) {
+        if (promoCode.getId() == null) {
+            return;
+        }
+        Usage usage = usageById.get(promoCode.getId());
+        if (usage != null) {
+            usage.used.set(storedCount(promoCode) + usage.unflushed.intValue());
+        }
+    }
+
+    public void remove(Long promoCodeId) {
+        usageById.remove(promoCodeId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.promo-usage.flush-ms:1000}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Object[]> updates = new ArrayList<>();
+        List<Usage> flushed = new ArrayList<>();
+        usageById.forEach((promoCodeId, usage) -> {
+            long delta = usage.unflushed.sumThenReset();
+            if (delta > 0) {
+                updates.add(new Object[] { delta, promoCodeId });
+                flushed.add(usage);
+            }
+        });
+        if (updates.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, updates);
+        } catch (RuntimeException e) {
+            // Put the deltas back so the next flush retries them
+            for (int i = 0; i < flushed.size(); i++) {
+                flushed.get(i).unflushed.add((Long) updates.get(i)[0]);
+            }
+            log.error("Failed to flush promo usage counts for {} codes", updates.size(), e);
+        }
+    }
+
+    private Usage usageFor(PromoCode promoCode) {
+        return usageById.computeIfAbsent(promoCode.getId(), id -> new Usage(storedCount(promoCode)));
+    }
+
+    private static int storedCount(PromoCode promoCode) {
+        return promoCode.getUsedCount() != null ? promoCode.getUsedCount() : 0;
+    }
+
+    private static final class Usage {
+        private final AtomicInteger used;
+        private final LongAdder unflushed = new LongAdder();
+
+        private Usage(int used) {
+            this.used = new AtomicInteger(used);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record ConsolidatedShipmentResponse(
+        int sequence,
+        UUID sourceHubId,
+        String sourceHubName,
+        UUID destinationHubId,
+        String destinationHubName,
+        int totalUnits,
+        double totalWeightKg,
+        double utilisation,
+        LocalDateTime oldestRequestAt,
+        List<ShipmentLineResponse> lines
+) {
+}
@@ -0,0 +1,26 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record DeliveryZoneRequest(
+        @NotNull(message = "Hub ID is required")
+        UUID hubId,
+
+        @NotBlank(message = "Zone name is required")
+        @Size(max = 100, message = "Zone name must not exceed 100 characters")
+        String name,
+
+        // Higher priority wins where zones overlap
+        Integer priority,
+
+        @NotNull(message = "Vertices are required")
+        @Size(min = 3, max = 1000, message = "A zone needs between 3 and 1000 vertices")
+        List<@NotNull @Valid GeoPoint> vertices
+) {
+}
@@ -0,0 +1,16 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public record DeliveryZoneResponse(
+        UUID id,
+        UUID hubId,
+        String hubName,
+        String name,
+        int priority,
+        List<GeoPoint> vertices,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,12 @@
+package com.OriginHubs.Amraj.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record GeoPoint(
+        @NotNull(message = "Latitude is required")
+        Double latitude,
+
+        @NotNull(message = "Longitude is required")
+        Double longitude
+) {
+}
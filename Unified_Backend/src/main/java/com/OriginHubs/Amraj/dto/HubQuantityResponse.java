@@ -0,0 +1,10 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.UUID;
+
+public record HubQuantityResponse(
+        UUID hubId,
+        String hubName,
+        int quantity
+) {
+}
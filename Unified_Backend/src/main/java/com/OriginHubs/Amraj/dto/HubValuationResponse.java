@@ -0,0 +1,20 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.UUID;
+
+public record HubValuationResponse(
+        UUID hubId,
+        String hubCode,
+        String hubName,
+        long itemCount,
+        long totalUnits,
+        double totalValue,
+        long lowStockItems,
+        double lowStockValue,
+        long outOfStockItems,
+        long deadStockItems,
+        long deadStockUnits,
+        double deadStockValue,
+        long unpricedItems
+) {
+}
@@ -0,0 +1,17 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import com.OriginHubs.Amraj.entity.enums.InventoryMovementType;
+
+public record InventoryMovementResponse(
+        Long id,
+        UUID hubId,
+        String sku,
+        int quantityDelta,
+        InventoryMovementType movementType,
+        String reference,
+        ZonedDateTime occurredAt
+) {
+}
@@ -0,0 +1,10 @@
+package com.OriginHubs.Amraj.dto;
+
+public record InventoryMovementSummaryResponse(
+        String sku,
+        long received,
+        long issued,
+        long net,
+        long movements
+) {
+}
@@ -0,0 +1,8 @@
+package com.OriginHubs.Amraj.dto;
+
+public record InventoryStockLevelResponse(
+        String sku,
+        int ledgerQuantity,
+        Integer currentQuantity
+) {
+}
@@ -0,0 +1,14 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+public record InventoryValuationResponse(
+        long inventoryVersion,
+        ZonedDateTime generatedAt,
+        int deadStockDays,
+        long durationMs,
+        HubValuationResponse total,
+        List<HubValuationResponse> hubs
+) {
+}
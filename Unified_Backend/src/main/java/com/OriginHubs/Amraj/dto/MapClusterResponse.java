@@ -0,0 +1,13 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record MapClusterResponse(
+        int zoom,
+        int hubCount,
+        int orderCount,
+        LocalDateTime builtAt,
+        List<MapMarkerResponse> markers
+) {
+}
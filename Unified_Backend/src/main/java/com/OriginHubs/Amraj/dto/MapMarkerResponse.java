@@ -0,0 +1,14 @@
+package com.OriginHubs.Amraj.dto;
+
+public record MapMarkerResponse(
+        // HUB or ORDER for a single point, CLUSTER for several
+        String type,
+        // Hub or order ID of a single point; null for clusters
+        String id,
+        double latitude,
+        double longitude,
+        int count,
+        int hubCount,
+        int orderCount
+) {
+}
@@ -0,0 +1,14 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.UUID;
+
+public record NearestHubResponse(
+        UUID hubId,
+        String code,
+        String name,
+        String city,
+        double latitude,
+        double longitude,
+        double distanceKm
+) {
+}
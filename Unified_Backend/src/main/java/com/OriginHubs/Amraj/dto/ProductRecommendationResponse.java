@@ -0,0 +1,13 @@
+package com.OriginHubs.Amraj.dto;
+
+/**
+ * A co-purchased product. {@code count} is the number of orders (bought together) or
+ * customers (also bought) containing both products; {@code confidence} is that count
+ * divided by the same figure for the source product.
+ */
+public record ProductRecommendationResponse(
+        Long productId,
+        int count,
+        double confidence
+) {
+}
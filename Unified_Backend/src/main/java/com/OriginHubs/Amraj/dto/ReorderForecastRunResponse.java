@@ -0,0 +1,9 @@
+package com.OriginHubs.Amraj.dto;
+
+public record ReorderForecastRunResponse(
+        int hubsProcessed,
+        int skusForecast,
+        int suggestionsWritten,
+        long durationMs
+) {
+}
@@ -0,0 +1,15 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.time.ZonedDateTime;
+
+public record ReorderSuggestionResponse(
+        String sku,
+        String productName,
+        int currentQuantity,
+        int reorderLevel,
+        double dailyDemand,
+        int suggestedReorderLevel,
+        int suggestedReorderQuantity,
+        ZonedDateTime computedAt
+) {
+}
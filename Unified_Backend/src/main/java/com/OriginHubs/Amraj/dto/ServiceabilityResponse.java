@@ -0,0 +1,13 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.UUID;
+
+public record ServiceabilityResponse(
+        boolean serviceable,
+        UUID hubId,
+        String hubCode,
+        String hubName,
+        UUID zoneId,
+        String zoneName
+) {
+}
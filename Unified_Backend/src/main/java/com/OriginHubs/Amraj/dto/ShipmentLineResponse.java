@@ -0,0 +1,13 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.UUID;
+
+public record ShipmentLineResponse(
+        UUID transferRequestId,
+        String requestId,
+        String sku,
+        String itemName,
+        int quantity,
+        double weightKg
+) {
+}
@@ -0,0 +1,11 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.List;
+
+public record SkuAvailabilityResponse(
+        String sku,
+        long totalQuantity,
+        int hubCount,
+        List<HubQuantityResponse> hubs
+) {
+}
@@ -0,0 +1,14 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record StockTransferBatchRequest(
+        @NotEmpty(message = "At least one transfer is required")
+        @Size(max = 500, message = "At most 500 transfers per batch")
+        List<@Valid StockTransferRequest> transfers
+) {
+}
@@ -0,0 +1,10 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.List;
+
+public record StockTransferBatchResponse(
+        int transferCount,
+        long totalQuantity,
+        List<InventoryItemResponse> updatedItems
+) {
+}
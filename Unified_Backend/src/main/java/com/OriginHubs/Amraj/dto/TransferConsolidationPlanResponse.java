@@ -0,0 +1,15 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.List;
+
+public record TransferConsolidationPlanResponse(
+        int pendingRequests,
+        int routes,
+        int shipmentCount,
+        int maxUnitsPerShipment,
+        double maxWeightKgPerShipment,
+        double averageUtilisation,
+        long durationMs,
+        List<ConsolidatedShipmentResponse> shipments
+) {
+}
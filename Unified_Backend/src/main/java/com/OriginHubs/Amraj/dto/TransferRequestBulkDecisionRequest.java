@@ -0,0 +1,24 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.OriginHubs.Amraj.entity.enums.TransferStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record TransferRequestBulkDecisionRequest(
+        @NotEmpty(message = "At least one transfer request is required")
+        @Size(max = 500, message = "At most 500 transfer requests per decision")
+        List<@NotNull UUID> requestIds,
+
+        @NotNull(message = "Decision is required")
+        TransferStatus decision,
+
+        String approvedBy,
+
+        String notes
+) {
+}
@@ -0,0 +1,13 @@
+package com.OriginHubs.Amraj.dto;
+
+import java.util.List;
+
+import com.OriginHubs.Amraj.entity.enums.TransferStatus;
+
+public record TransferRequestBulkDecisionResponse(
+        TransferStatus decision,
+        int requestCount,
+        long totalQuantity,
+        List<TransferRequestResponse> requests
+) {
+}
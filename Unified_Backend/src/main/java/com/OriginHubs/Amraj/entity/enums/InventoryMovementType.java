@@ -0,0 +1,11 @@
+package com.OriginHubs.Amraj.entity.enums;
+
+public enum InventoryMovementType {
+    OPENING_BALANCE,
+    CREATED,
+    ADJUSTMENT,
+    MARKED_OUT_OF_STOCK,
+    TRANSFER_OUT,
+    TRANSFER_IN,
+    DELETED
+}
@@ -46,6 +46,12 @@ public class Address {
     @Column(name = "zip", nullable = false, length = 20)
     private String zipCode;  // Using 'zip' column from DB
 
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Transient  // This field doesn't exist in DB
     private String country;
 
@@ -137,6 +143,22 @@ public class Address {
         this.zipCode = zipCode;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public String getCountry() {
         return country;
     }
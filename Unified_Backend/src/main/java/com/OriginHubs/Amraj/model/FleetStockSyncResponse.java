@@ -0,0 +1,36 @@
+package com.OriginHubs.Amraj.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class FleetStockSyncResponse {
+    private int productsScanned;
+    private int productsUpdated;
+    private int hubsProcessed;
+    private int lowStockCount;
+    private int alertsRaised;
+    private long durationMs;
+    private List<String> lowStockWarnings;
+    private LocalDateTime syncedAt;
+
+    public FleetStockSyncResponse() {
+        this.syncedAt = LocalDateTime.now();
+    }
+
+    public int getProductsScanned() { return productsScanned; }
+    public void setProductsScanned(int productsScanned) { this.productsScanned = productsScanned; }
+    public int getProductsUpdated() { return productsUpdated; }
+    public void setProductsUpdated(int productsUpdated) { this.productsUpdated = productsUpdated; }
+    public int getHubsProcessed() { return hubsProcessed; }
+    public void setHubsProcessed(int hubsProcessed) { this.hubsProcessed = hubsProcessed; }
+    public int getLowStockCount() { return lowStockCount; }
+    public void setLowStockCount(int lowStockCount) { this.lowStockCount = lowStockCount; }
+    public int getAlertsRaised() { return alertsRaised; }
+    public void setAlertsRaised(int alertsRaised) { this.alertsRaised = alertsRaised; }
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+    public List<String> getLowStockWarnings() { return lowStockWarnings; }
+    public void setLowStockWarnings(List<String> lowStockWarnings) { this.lowStockWarnings = lowStockWarnings; }
+    public LocalDateTime getSyncedAt() { return syncedAt; }
+    public void setSyncedAt(LocalDateTime syncedAt) { this.syncedAt = syncedAt; }
+}
@@ -48,6 +48,12 @@ public class Order {
     @Column(name = "delivery_address")
     private String deliveryAddress;
 
+    @Column(name = "delivery_latitude")
+    private Double deliveryLatitude;
+
+    @Column(name = "delivery_longitude")
+    private Double deliveryLongitude;
+
     @Column(name = "delivery_date")
     private OffsetDateTime deliveryDate;
 
@@ -108,6 +114,12 @@ public class Order {
     public void setIssueFlag(boolean issueFlag) { this.issueFlag = issueFlag; }
     public String getDeliveryAddress() { return deliveryAddress; }
     public void setDeliveryAddress(String deliveryAddress) { this.deliveryAddress = deliveryAddress; }
+
+    public Double getDeliveryLatitude() { return deliveryLatitude; }
+    public void setDeliveryLatitude(Double deliveryLatitude) { this.deliveryLatitude = deliveryLatitude; }
+
+    public Double getDeliveryLongitude() { return deliveryLongitude; }
+    public void setDeliveryLongitude(Double deliveryLongitude) { this.deliveryLongitude = deliveryLongitude; }
     public OffsetDateTime getDeliveryDate() { return deliveryDate; }
     public void setDeliveryDate(OffsetDateTime deliveryDate) { this.deliveryDate = deliveryDate; }
     public User getCustomer() { return customer; }
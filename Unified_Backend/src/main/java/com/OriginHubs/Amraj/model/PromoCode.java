@@ -3,6 +3,7 @@ package com.OriginHubs.Amraj.model;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "promo_codes")
@@ -42,8 +43,17 @@ public class PromoCode {
     private Boolean isActive = true;
 
     @Column(name = "per_user_limit")
-    private Integer perUserLimit = 0; // 0 = multiple uses, 1 = once per user
+    private Integer perUserLimit = 0; // 0 = multiple uses, N = at most N uses per user
 
+    // Optional conditions; null/false means the promo is not restricted
+    @Column(name = "applicable_category")
+    private String applicableCategory;
+
+    @Column(name = "applicable_hub_id")
+    private UUID applicableHubId;
+
+    @Column(name = "first_order_only")
+    private Boolean firstOrderOnly = false;
 
 
     @Column(name = "created_at")
@@ -105,4 +115,13 @@ public class PromoCode {
 
     public Integer getPerUserLimit() { return perUserLimit; }
     public void setPerUserLimit(Integer perUserLimit) { this.perUserLimit = perUserLimit; }
+
+    public String getApplicableCategory() { return applicableCategory; }
+    public void setApplicableCategory(String applicableCategory) { this.applicableCategory = applicableCategory; }
+
+    public UUID getApplicableHubId() { return applicableHubId; }
+    public void setApplicableHubId(UUID applicableHubId) { this.applicableHubId = applicableHubId; }
+
+    public Boolean getFirstOrderOnly() { return firstOrderOnly; }
+    public void setFirstOrderOnly(Boolean firstOrderOnly) { this.firstOrderOnly = firstOrderOnly; }
 }
\ No newline at end of file
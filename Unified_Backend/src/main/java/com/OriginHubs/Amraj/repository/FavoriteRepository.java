@@ -4,6 +4,9 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.OriginHubs.Amraj.model.Favorite;
@@ -14,4 +17,44 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     Optional<Favorite> findByUserIdAndProductId(Long userId, Long productId);
     void deleteByUserIdAndProductId(Long userId, Long productId);
     boolean existsByUserIdAndProductId(Long userId, Long productId);
+
+    /**
+     * Favorites of a user joined with their product card fields as
+     * [id, userId, productId, createdAt, name, price, imageUrl, variety, availableKg, p.id];
+     * the trailing p.id is null when the product no longer exists.
+     */
+    @Query("""
+        SELECT f.id, f.userId, f.productId, f.createdAt,
+               p.name, p.price, p.imageUrl, p.variety, p.availableKg, p.id
+        FROM Favorite f
+        LEFT JOIN Product p ON p.id = f.productId
+        WHERE f.userId = :userId
+        ORDER BY f.id
+    """)
+    List<Object[]> findFavoriteRowsByUserId(@Param("userId") Long userId);
+
+    @Query("""
+        SELECT f.id, f.userId, f.productId, f.createdAt,
+               p.name, p.price, p.imageUrl, p.variety, p.availableKg, p.id
+        FROM Favorite f
+        LEFT JOIN Product p ON p.id = f.productId
+        WHERE f.userId = :userId AND f.productId = :productId
+    """)
+    List<Object[]> findFavoriteRow(@Param("userId") Long userId, @Param("productId") Long productId);
+
+    @Query("SELECT f.productId FROM Favorite f WHERE f.userId = :userId")
+    List<Long> findProductIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Insert the favorite if the product exists; an existing favorite is left untouched.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO favourites (user_id, product_id, created_at)
+        SELECT :userId, p.id, now()
+        FROM products p
+        WHERE p.id = :productId
+        ON CONFLICT (user_id, product_id) DO NOTHING
+    """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("productId") Long productId);
 }
@@ -1,34 +1,48 @@
 package com.OriginHubs.Amraj.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.OriginHubs.Amraj.dto.InventoryItemResponse;
 import com.OriginHubs.Amraj.entity.InventoryItem;
 import com.OriginHubs.Amraj.entity.enums.InventoryStatus;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface InventoryItemRepository extends JpaRepository<InventoryItem, UUID> {
 
     List<InventoryItem> findByHubId(UUID hubId);
 
+    // Row lock for read-modify-write, so concurrent writes record their ledger deltas against the current quantity
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM InventoryItem i WHERE i.id = :id")
+    Optional<InventoryItem> findByIdForUpdate(@Param("id") UUID id);
+
     @Query("SELECT i FROM InventoryItem i WHERE i.hub.id = :hubId AND i.status = :status")
     List<InventoryItem> findByHubIdAndStatus(@Param("hubId") UUID hubId, @Param("status") InventoryStatus status);
 
-    @Query("SELECT i FROM InventoryItem i WHERE i.hub.id = :hubId AND " +
-           "(i.sku LIKE %:search% OR i.productName LIKE %:search%)")
-    List<InventoryItem> findByHubIdAndSearch(@Param("hubId") UUID hubId, @Param("search") String search);
+    // Searches are served by InventorySearchIndex; this feeds it without loading entities
+    @Query("SELECT new com.OriginHubs.Amraj.dto.InventoryItemResponse(i.id, h.id, h.name, i.sku, i.productName, " +
+           "i.quantity, i.reorderLevel, i.status, i.description, i.unitPrice, i.unit, i.lastRestocked, " +
+           "i.createdAt, i.updatedAt) FROM InventoryItem i JOIN i.hub h WHERE h.id = :hubId")
+    List<InventoryItemResponse> findResponsesByHubId(@Param("hubId") UUID hubId);
+
+    @Query("SELECT new com.OriginHubs.Amraj.dto.InventoryItemResponse(i.id, h.id, h.name, i.sku, i.productName, " +
+           "i.quantity, i.reorderLevel, i.status, i.description, i.unitPrice, i.unit, i.lastRestocked, " +
+           "i.createdAt, i.updatedAt) FROM InventoryItem i JOIN i.hub h WHERE i.id IN :ids")
+    List<InventoryItemResponse> findResponsesByIdIn(@Param("ids") Collection<UUID> ids);
 
-    @Query("SELECT i FROM InventoryItem i WHERE i.hub.id = :hubId AND i.status = :status AND " +
-           "(i.sku LIKE %:search% OR i.productName LIKE %:search%)")
-    List<InventoryItem> findByHubIdAndStatusAndSearch(@Param("hubId") UUID hubId, 
-                                                        @Param("status") InventoryStatus status,
-                                                        @Param("search") String search);
+    @Query("SELECT DISTINCT i.hub.id FROM InventoryItem i")
+    List<UUID> findDistinctHubIds();
 
     Optional<InventoryItem> findByHubIdAndSku(UUID hubId, String sku);
 
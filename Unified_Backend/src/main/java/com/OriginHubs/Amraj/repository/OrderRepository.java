@@ -102,4 +102,6 @@ public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecific
 	List<Order> findByCustomerIdOrderByCreatedAtDesc(@Param("userId") Long userId);
 
 	boolean existsByCustomerIdAndPromoCode(Long customerId, String promoCode);
+
+	boolean existsByCustomerId(Long customerId);
 }
@@ -1,10 +1,14 @@
 package com.OriginHubs.Amraj.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.OriginHubs.Amraj.model.ProductHubVisibility;
@@ -13,4 +17,68 @@ import com.OriginHubs.Amraj.model.ProductHubVisibility;
 public interface ProductHubVisibilityRepository extends JpaRepository<ProductHubVisibility, Integer> {
     List<ProductHubVisibility> findByProductId(Long productId);
     Optional<ProductHubVisibility> findByProductIdAndHubId(Long productId, UUID hubId);
+
+    /**
+     * Replaces the hub rows of one product in a single statement. {@code hubIds} is a
+     * comma separated list of already validated, de-duplicated hub UUIDs; the stock is
+     * split evenly with the remainder going to the first hub. Hubs missing from the list
+     * are removed, so an empty list clears the product's visibility rows.
+     */
+    @Modifying
+    @Query(value = """
+        WITH input AS (
+            SELECT CAST(t.hub AS uuid) AS hub_id, t.ord
+            FROM unnest(string_to_array(:hubIds, ',')) WITH ORDINALITY AS t(hub, ord)
+        ), removed AS (
+            DELETE FROM product_hub_visibility v
+            WHERE v.product_id = :productId
+            AND v.hub_id NOT IN (SELECT hub_id FROM input)
+        )
+        INSERT INTO product_hub_visibility (product_id, hub_id, stock)
+        SELECT :productId, i.hub_id,
+               :totalStock / c.hub_count + CASE WHEN i.ord = 1 THEN :totalStock % c.hub_count ELSE 0 END
+        FROM input i CROSS JOIN (SELECT COUNT(*) AS hub_count FROM input) c
+        ON CONFLICT (product_id, hub_id) DO UPDATE SET stock = EXCLUDED.stock
+    """, nativeQuery = true)
+    int upsertDistribution(@Param("productId") Long productId,
+                           @Param("hubIds") String hubIds,
+                           @Param("totalStock") int totalStock);
+
+    /**
+     * Re-splits products.stock across the hub rows each product already has, for any
+     * number of products in one statement. Rows keep their hubs; the first row by id
+     * receives the remainder, matching {@link #upsertDistribution}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        UPDATE product_hub_visibility v
+        SET stock = r.new_stock
+        FROM (
+            SELECT v2.id,
+                   COALESCE(p.stock, 0) / COUNT(*) OVER (PARTITION BY v2.product_id)
+                   + CASE WHEN ROW_NUMBER() OVER (PARTITION BY v2.product_id ORDER BY v2.id) = 1
+                          THEN COALESCE(p.stock, 0) % COUNT(*) OVER (PARTITION BY v2.product_id)
+                          ELSE 0 END AS new_stock
+            FROM product_hub_visibility v2
+            JOIN products p ON p.id = v2.product_id
+            WHERE v2.product_id IN (:productIds)
+        ) r
+        WHERE v.id = r.id
+        AND v.stock IS DISTINCT FROM r.new_stock
+    """, nativeQuery = true)
+    int redistributeStock(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Stock per (product, hub) across the whole catalog as [productId, hubId, stock] rows.
+     */
+    @Query(value = """
+        SELECT v.product_id, v.hub_id, COALESCE(SUM(v.stock), 0)
+        FROM product_hub_visibility v
+        WHERE v.product_id IS NOT NULL
+        GROUP BY v.product_id, v.hub_id
+    """, nativeQuery = true)
+    List<Object[]> sumStockByProductAndHub();
+
+    @Query("SELECT v.productId, v.hubId, v.stock FROM ProductHubVisibility v WHERE v.productId IN :productIds")
+    List<Object[]> findStockRowsByProductIds(@Param("productIds") Collection<Long> productIds);
 }
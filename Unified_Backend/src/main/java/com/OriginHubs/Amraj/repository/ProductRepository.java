@@ -1,9 +1,11 @@
 package com.OriginHubs.Amraj.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.OriginHubs.Amraj.model.Product;
@@ -11,4 +13,7 @@ import com.OriginHubs.Amraj.model.Product;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
     Optional<Product> findByName(String name);
+
+    @Query("SELECT p.id, p.name, p.stock FROM Product p")
+    List<Object[]> findStockSnapshot();
 }
@@ -0,0 +1,25 @@
+package com.OriginHubs.Amraj.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.OriginHubs.Amraj.model.PromoRedemption;
+
+@Repository
+public interface PromoRedemptionRepository extends JpaRepository<PromoRedemption, Long> {
+    boolean existsByUserIdAndCode(Long userId, String code);
+    long countByUserIdAndCode(Long userId, String code);
+
+    @Query("SELECT r.userId FROM PromoRedemption r WHERE r.code = :code")
+    List<Long> findUserIdsByCode(@Param("code") String code);
+
+    /**
+     * Distinct (code, userId) pairs across all redemptions, ordered by code.
+     */
+    @Query("SELECT DISTINCT r.code, r.userId FROM PromoRedemption r ORDER BY r.code")
+    List<Object[]> findAllCodeUserPairs();
+}
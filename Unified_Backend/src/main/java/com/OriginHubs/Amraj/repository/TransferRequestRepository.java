@@ -4,17 +4,34 @@ import com.OriginHubs.Amraj.entity.TransferRequest;
 import com.OriginHubs.Amraj.entity.enums.TransferStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface TransferRequestRepository extends JpaRepository<TransferRequest, UUID> {
     
+    /**
+     * Listing pages map both hubs and the item of every row, so fetch them in the same
+     * select instead of three lazy loads per row.
+     */
+    @EntityGraph(attributePaths = {"sourceHub", "destinationHub", "inventoryItem"})
     Page<TransferRequest> findByStatus(TransferStatus status, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"sourceHub", "destinationHub", "inventoryItem"})
+    Page<TransferRequest> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = {"sourceHub", "destinationHub", "inventoryItem"})
+    List<TransferRequest> findByIdIn(Collection<UUID> ids);
     
     @Query("SELECT COUNT(tr) FROM TransferRequest tr WHERE tr.status = :status")
     long countByStatus(@Param("status") TransferStatus status);
@@ -23,4 +40,18 @@ public interface TransferRequestRepository extends JpaRepository<TransferRequest
            "WHERE (:status IS NULL OR tr.status = :status) " +
            "ORDER BY tr.createdAt DESC")
     Page<TransferRequest> findAllWithOptionalStatus(@Param("status") TransferStatus status, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Decide every listed request that is still pending in one statement. Requests
+     * already decided are left alone and not counted, which lets callers detect them.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE TransferRequest tr " +
+           "SET tr.status = :decision, tr.approvedBy = :approvedBy, tr.notes = :notes, tr.updatedAt = :decidedAt " +
+           "WHERE tr.id IN :ids AND tr.status = com.OriginHubs.Amraj.entity.enums.TransferStatus.PENDING")
+    int decidePending(@Param("ids") Collection<UUID> ids,
+                      @Param("decision") TransferStatus decision,
+                      @Param("approvedBy") String approvedBy,
+                      @Param("notes") String notes,
+                      @Param("decidedAt") LocalDateTime decidedAt);
+}
@@ -3,6 +3,8 @@ package com.OriginHubs.Amraj.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
@@ -12,11 +14,22 @@ public class DatabaseInitializationService {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    // Runs before the in-memory indexes that load from the tables created here
     @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     public void initializeDatabase() {
         createPromoCodesTableIfNotExists();
         addPromoCodeColumnsToOrdersIfNotExists();
         insertSamplePromoCodesIfEmpty();
+        addPromoRuleColumnsIfNotExists();
+        ensureProductHubVisibilityUniqueIndex();
+        ensureFavouritesUniqueIndex();
+        createPromoRedemptionsTableIfNotExists();
+        ensureInventoryItemsUniqueIndex();
+        createInventoryLedgerTablesIfNotExist();
+        createReorderSuggestionsTableIfNotExists();
+        addCoordinateColumnsIfNotExist();
+        createDeliveryZonesTableIfNotExists();
     }
 
     private void createPromoCodesTableIfNotExists() {
@@ -80,4 +93,214 @@ public class DatabaseInitializationService {
             System.out.println("Could not insert sample promo codes: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private void addPromoRuleColumnsIfNotExists() {
+        try {
+            jdbcTemplate.execute("""
+                ALTER TABLE promo_codes
+                    ADD COLUMN IF NOT EXISTS per_user_limit INTEGER DEFAULT 0,
+                    ADD COLUMN IF NOT EXISTS applicable_category VARCHAR(100),
+                    ADD COLUMN IF NOT EXISTS applicable_hub_id UUID,
+                    ADD COLUMN IF NOT EXISTS first_order_only BOOLEAN DEFAULT FALSE
+                """);
+        } catch (Exception e) {
+            System.out.println("Could not add promo rule columns: " + e.getMessage());
+        }
+    }
+
+    private void ensureProductHubVisibilityUniqueIndex() {
+        // Hub visibility writes upsert with ON CONFLICT (product_id, hub_id), which needs this index
+        try {
+            jdbcTemplate.execute("""
+                DELETE FROM product_hub_visibility a
+                USING product_hub_visibility b
+                WHERE a.product_id = b.product_id AND a.hub_id = b.hub_id AND a.id > b.id
+                """);
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS ux_product_hub_visibility_product_hub ON product_hub_visibility (product_id, hub_id)");
+        } catch (Exception e) {
+            System.out.println("Could not create product_hub_visibility unique index: " + e.getMessage());
+        }
+    }
+
+    private void ensureFavouritesUniqueIndex() {
+        // Adding a favorite upserts with ON CONFLICT (user_id, product_id)
+        try {
+            jdbcTemplate.execute("""
+                DELETE FROM favourites a
+                USING favourites b
+                WHERE a.user_id = b.user_id AND a.product_id = b.product_id AND a.id > b.id
+                """);
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS ux_favourites_user_product ON favourites (user_id, product_id)");
+        } catch (Exception e) {
+            System.out.println("Could not create favourites unique index: " + e.getMessage());
+        }
+    }
+
+    private void createPromoRedemptionsTableIfNotExists() {
+        try {
+            Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = 'promo_redemptions'", Integer.class);
+            if (count == 0) {
+                jdbcTemplate.execute("""
+                    CREATE TABLE promo_redemptions (
+                        id BIGSERIAL PRIMARY KEY,
+                        user_id BIGINT NOT NULL,
+                        code VARCHAR(50) NOT NULL,
+                        order_id BIGINT UNIQUE,
+                        redeemed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                    """);
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_promo_redemptions_user_code ON promo_redemptions (user_id, code)");
+                // Backfill from orders placed before the table existed
+                int backfilled = jdbcTemplate.update("""
+                    INSERT INTO promo_redemptions (user_id, code, order_id, redeemed_at)
+                    SELECT o.user_id, UPPER(TRIM(o.promo_code)), o.id, o.created_at
+                    FROM orders o
+                    WHERE o.promo_code IS NOT NULL AND o.user_id IS NOT NULL
+                    ON CONFLICT (order_id) DO NOTHING
+                    """);
+                System.out.println("Created promo_redemptions table, backfilled " + backfilled + " redemptions");
+            }
+        } catch (Exception e) {
+            System.out.println("Could not create promo_redemptions table: " + e.getMessage());
+        }
+    }
+
+    private void ensureInventoryItemsUniqueIndex() {
+        // Stock transfers and CSV imports upsert with ON CONFLICT (hub_id, sku)
+        try {
+            Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT to_regclass('ux_inventory_items_hub_sku') IS NOT NULL", Boolean.class);
+            if (Boolean.TRUE.equals(exists)) {
+                return;
+            }
+            // Merge duplicate (hub_id, sku) rows into the oldest one, summing quantities and moving
+            // transfer requests over, so the index can be built; all in one transaction
+            jdbcTemplate.execute("""
+                DO $$
+                BEGIN
+                    CREATE TEMP TABLE inventory_item_duplicates ON COMMIT DROP AS
+                    SELECT id, keeper_id, quantity
+                    FROM (
+                        SELECT id, quantity,
+                               FIRST_VALUE(id) OVER (PARTITION BY hub_id, sku ORDER BY created_at, id) AS keeper_id
+                        FROM inventory_items
+                    ) ranked
+                    WHERE id <> keeper_id;
+
+                    UPDATE inventory_items i
+                    SET quantity = i.quantity + d.total, updated_at = now()
+                    FROM (
+                        SELECT keeper_id, SUM(quantity) AS total
+                        FROM inventory_item_duplicates
+                        GROUP BY keeper_id
+                    ) d
+                    WHERE i.id = d.keeper_id;
+
+                    IF to_regclass('transfer_requests') IS NOT NULL THEN
+                        UPDATE transfer_requests t
+                        SET inventory_item_id = d.keeper_id
+                        FROM inventory_item_duplicates d
+                        WHERE t.inventory_item_id = d.id;
+                    END IF;
+
+                    DELETE FROM inventory_items i
+                    USING inventory_item_duplicates d
+                    WHERE i.id = d.id;
+                END $$
+                """);
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS ux_inventory_items_hub_sku ON inventory_items (hub_id, sku)");
+        } catch (Exception e) {
+            System.out.println("Could not create inventory_items unique index: " + e.getMessage());
+        }
+    }
+
+    private void createInventoryLedgerTablesIfNotExist() {
+        try {
+            Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_name = 'inventory_movements'", Integer.class);
+            if (count == 0) {
+                jdbcTemplate.execute("""
+                    CREATE TABLE inventory_movements (
+                        id BIGSERIAL PRIMARY KEY,
+                        hub_id UUID NOT NULL,
+                        sku VARCHAR(50) NOT NULL,
+                        quantity_delta INTEGER NOT NULL,
+                        movement_type VARCHAR(30) NOT NULL,
+                        reference VARCHAR(100),
+                        occurred_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+                    )
+                    """);
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_inventory_movements_hub_sku_time ON inventory_movements (hub_id, sku, occurred_at)");
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS ix_inventory_movements_hub_time ON inventory_movements (hub_id, occurred_at)");
+                // Opening balances, so the ledger sums to the quantities on hand when it started
+                int opened = jdbcTemplate.update("""
+                    INSERT INTO inventory_movements (hub_id, sku, quantity_delta, movement_type, occurred_at)
+                    SELECT hub_id, sku, quantity, 'OPENING_BALANCE', NOW()
+                    FROM inventory_items
+                    WHERE quantity <> 0
+                    """);
+                System.out.println("Created inventory_movements table with " + opened + " opening balances");
+            }
+            jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS inventory_snapshots (
+                    hub_id UUID NOT NULL,
+                    sku VARCHAR(50) NOT NULL,
+                    snapshot_at TIMESTAMPTZ NOT NULL,
+                    quantity INTEGER NOT NULL,
+                    PRIMARY KEY (hub_id, sku, snapshot_at)
+                )
+                """);
+        } catch (Exception e) {
+            System.out.println("Could not create inventory ledger tables: " + e.getMessage());
+        }
+    }
+
+    private void createReorderSuggestionsTableIfNotExists() {
+        try {
+            jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS inventory_reorder_suggestions (
+                    hub_id UUID NOT NULL,
+                    sku VARCHAR(50) NOT NULL,
+                    daily_demand DOUBLE PRECISION NOT NULL,
+                    suggested_reorder_level INTEGER NOT NULL,
+                    suggested_reorder_quantity INTEGER NOT NULL,
+                    computed_at TIMESTAMPTZ NOT NULL,
+                    PRIMARY KEY (hub_id, sku)
+                )
+                """);
+        } catch (Exception e) {
+            System.out.println("Could not create inventory_reorder_suggestions table: " + e.getMessage());
+        }
+    }
+
+    private void addCoordinateColumnsIfNotExist() {
+        try {
+            jdbcTemplate.execute("ALTER TABLE addresses ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION");
+            jdbcTemplate.execute("ALTER TABLE addresses ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION");
+            jdbcTemplate.execute("ALTER TABLE orders ADD COLUMN IF NOT EXISTS delivery_latitude DOUBLE PRECISION");
+            jdbcTemplate.execute("ALTER TABLE orders ADD COLUMN IF NOT EXISTS delivery_longitude DOUBLE PRECISION");
+        } catch (Exception e) {
+            System.out.println("Could not add coordinate columns to addresses and orders: " + e.getMessage());
+        }
+    }
+
+    private void createDeliveryZonesTableIfNotExists() {
+        try {
+            jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS hub_delivery_zones (
+                    id UUID PRIMARY KEY,
+                    hub_id UUID NOT NULL REFERENCES hubs(id) ON DELETE CASCADE,
+                    name VARCHAR(100) NOT NULL,
+                    priority INTEGER NOT NULL DEFAULT 0,
+                    vertices JSONB NOT NULL,
+                    created_at TIMESTAMPTZ NOT NULL DEFAULT now(),
+                    updated_at TIMESTAMPTZ NOT NULL DEFAULT now()
+                )
+                """);
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_hub_delivery_zones_hub ON hub_delivery_zones (hub_id)");
+        } catch (Exception e) {
+            System.out.println("Could not create hub_delivery_zones table: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.OriginHubs.Amraj.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.OriginHubs.Amraj.dto.GeoPoint;
+import com.OriginHubs.Amraj.dto.ServiceabilityResponse;
+import com.OriginHubs.Amraj.util.PolygonRTree;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Which hub delivers to a coordinate, answered from an immutable R-tree over the delivery
+ * zones of active hubs. Where zones overlap, the higher priority wins, then the smaller
+ * (more specific) zone. Rebuilt after zone and hub writes commit.
+ */
+@Service
+public class DeliveryZoneIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryZoneIndex.class);
+    private static final TypeReference<List<GeoPoint>> VERTICES = new TypeReference<>() {
+    };
+
+    private static final String ZONES_SQL = """
+        SELECT z.id, z.name, z.priority, z.vertices, h.id AS hub_id, h.code, h.name AS hub_name
+        FROM hub_delivery_zones z
+        JOIN hubs h ON h.id = z.hub_id
+        WHERE h.status = 'ACTIVE'
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private volatile PolygonRTree<Zone> tree = PolygonRTree.build(List.of(), List.of(), List.of());
+
+    public DeliveryZoneIndex(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Zone> zones = new ArrayList<>();
+        List<double[]> latitudes = new ArrayList<>();
+        List<double[]> longitudes = new ArrayList<>();
+        jdbcTemplate.query(ZONES_SQL, rs -> {
+            UUID zoneId = rs.getObject("id", UUID.class);
+            List<GeoPoint> vertices;
+            try {
+                vertices = objectMapper.readValue(rs.getString("vertices"), VERTICES);
+            } catch (Exception e) {
+                log.warn("Skipping delivery zone {} with unreadable vertices: {}", zoneId, e.getMessage());
+                return;
+            }
+            if (vertices.size() < 3) {
+                log.warn("Skipping delivery zone {} with fewer than three vertices", zoneId);
+                return;
+            }
+            double[] lats = new double[vertices.size()];
+            double[] lons = new double[vertices.size()];
+            for (int i = 0; i < vertices.size(); i++) {
+                lats[i] = vertices.get(i).latitude();
+                lons[i] = vertices.get(i).longitude();
+            }
+            zones.add(new Zone(zoneId, rs.getString("name"), rs.getInt("priority"), PolygonRTree.area(lats, lons),
+                    rs.getObject("hub_id", UUID.class), rs.getString("code"), rs.getString("hub_name")));
+            latitudes.add(lats);
+            longitudes.add(lons);
+        });
+        tree = PolygonRTree.build(zones, latitudes, longitudes);
+        log.debug("Rebuilt delivery zone index with {} zones", zones.size());
+    }
+
+    /**
+     * Rebuild once the current transaction commits, so the index never shows uncommitted zones.
+     */
+    public void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Whether any active hub has delivery zones; until then callers fall back to the nearest hub.
+     */
+    public boolean hasZones() {
+        return tree.size() > 0;
+    }
+
+    public ServiceabilityResponse resolve(double latitude, double longitude) {
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        Zone best = null;
+        for (Zone zone : tree.containing(latitude, longitude)) {
+            if (best == null || zone.priority > best.priority
+                    || (zone.priority == best.priority && zone.area < best.area)) {
+                best = zone;
+            }
+        }
+        if (best == null) {
+            return new ServiceabilityResponse(false, null, null, null, null, null);
+        }
+        return new ServiceabilityResponse(true, best.hubId, best.hubCode, best.hubName, best.id, best.name);
+    }
+
+    private record Zone(UUID id, String name, int priority, double area, UUID hubId, String hubCode, String hubName) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.OriginHubs.Amraj.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.OriginHubs.Amraj.dto.DeliveryZoneRequest;
+import com.OriginHubs.Amraj.dto.DeliveryZoneResponse;
+import com.OriginHubs.Amraj.dto.GeoPoint;
+import com.OriginHubs.Amraj.util.PolygonRTree;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Delivery zone polygons owned by hubs. Vertices are stored as JSON in
+ * hub_delivery_zones; lookups go through {@link DeliveryZoneIndex}.
+ */
+@Service
+public class DeliveryZoneService {
+
+    private static final TypeReference<List<GeoPoint>> VERTICES = new TypeReference<>() {
+    };
+
+    private static final String SELECT_SQL = """
+        SELECT z.id, z.hub_id, h.name AS hub_name, z.name, z.priority, z.vertices, z.updated_at
+        FROM hub_delivery_zones z
+        JOIN hubs h ON h.id = z.hub_id
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final DeliveryZoneIndex deliveryZoneIndex;
+
+    public DeliveryZoneService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, DeliveryZoneIndex deliveryZoneIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.deliveryZoneIndex = deliveryZoneIndex;
+    }
+
+    public List<DeliveryZoneResponse> getZones(UUID hubId) {
+        if (hubId == null) {
+            return jdbcTemplate.query(SELECT_SQL + " ORDER BY h.name, z.name", rowMapper());
+        }
+        return jdbcTemplate.query(SELECT_SQL + " WHERE z.hub_id = ? ORDER BY z.name", rowMapper(), hubId);
+    }
+
+    public DeliveryZoneResponse getZone(UUID id) {
+        List<DeliveryZoneResponse> zones = jdbcTemplate.query(SELECT_SQL + " WHERE z.id = ?", rowMapper(), id);
+        if (zones.isEmpty()) {
+            throw new IllegalArgumentException("Delivery zone not found with ID: " + id);
+        }
+        return zones.get(0);
+    }
+
+    @Transactional
+    public DeliveryZoneResponse createZone(DeliveryZoneRequest request) {
+        requireHub(request.hubId());
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+            INSERT INTO hub_delivery_zones (id, hub_id, name, priority, vertices, created_at, updated_at)
+            VALUES (?, ?, ?, ?, CAST(? AS jsonb), now(), now())
+            """, id, request.hubId(), request.name().trim(), priority(request), vertices(request));
+        deliveryZoneIndex.rebuildAfterCommit();
+        return getZone(id);
+    }
+
+    @Transactional
+    public DeliveryZoneResponse updateZone(UUID id, DeliveryZoneRequest request) {
+        requireHub(request.hubId());
+        int updated = jdbcTemplate.update("""
+            UPDATE hub_delivery_zones
+            SET hub_id = ?, name = ?, priority = ?, vertices = CAST(? AS jsonb), updated_at = now()
+            WHERE id = ?
+            """, request.hubId(), request.name().trim(), priority(request), vertices(request), id);
+        if (updated == 0) {
+            throw new IllegalArgumentException("Delivery zone not found with ID: " + id);
+        }
+        deliveryZoneIndex.rebuildAfterCommit();
+        return getZone(id);
+    }
+
+    @Transactional
+    public void deleteZone(UUID id) {
+        if (jdbcTemplate.update("DELETE FROM hub_delivery_zones WHERE id = ?", id) == 0) {
+            throw new IllegalArgumentException("Delivery zone not found with ID: " + id);
+        }
+        deliveryZoneIndex.rebuildAfterCommit();
+    }
+
+    private void requireHub(UUID hubId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM hubs WHERE id = ?", Integer.class, hubId);
+        if (count == null || count == 0) {
+            throw new IllegalArgumentException("Hub not found with ID: " + hubId);
+        }
+    }
+
+    private static int priority(DeliveryZoneRequest request) {
+        return request.priority() != null ? request.priority() : 0;
+    }
+
+    /**
+     * Validate the ring and serialise it for storage.
+     */
+    private String vertices(DeliveryZoneRequest request) {
+        List<GeoPoint> vertices = request.vertices();
+        double[] latitudes = new double[vertices.size()];
+        double[] longitudes = new double[vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            GeoPoint vertex = vertices.get(i);
+            if (Math.abs(vertex.latitude()) > 90 || Math.abs(vertex.longitude()) > 180) {
+                throw new IllegalArgumentException("Vertex " + (i + 1) + " is out of range");
+            }
+            latitudes[i] = vertex.latitude();
+            longitudes[i] = vertex.longitude();
+        }
+        if (PolygonRTree.area(latitudes, longitudes) == 0) {
+            throw new IllegalArgumentException("Zone vertices must enclose an area");
+        }
+        try {
+            return objectMapper.writeValueAsString(vertices);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialise zone vertices", e);
+        }
+    }
+
+    private RowMapper<DeliveryZoneResponse> rowMapper() {
+        return (rs, rowNum) -> {
+            List<GeoPoint> vertices;
+            try {
+                vertices = objectMapper.readValue(rs.getString("vertices"), VERTICES);
+            } catch (JsonProcessingException e) {
+                vertices = List.of();
+            }
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            return new DeliveryZoneResponse(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("hub_id", UUID.class),
+                    rs.getString("hub_name"),
+                    rs.getString("name"),
+                    rs.getInt("priority"),
+                    vertices,
+                    updatedAt != null ? updatedAt.toLocalDateTime() : null);
+        };
+    }
+}
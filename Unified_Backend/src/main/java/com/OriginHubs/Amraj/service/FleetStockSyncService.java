@@ -0,0 +1,218 @@
+package com.OriginHubs.Amraj.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.OriginHubs.Amraj.entity.Hub;
+import com.OriginHubs.Amraj.model.FleetStockSyncResponse;
+import com.OriginHubs.Amraj.model.SystemAlert;
+import com.OriginHubs.Amraj.repository.HubRepository;
+import com.OriginHubs.Amraj.repository.ProductHubVisibilityRepository;
+import com.OriginHubs.Amraj.repository.ProductRepository;
+
+/**
+ * Reconciles products.stock with the per-hub rows in product_hub_visibility for the
+ * whole catalog. Runs on a schedule and can be triggered from the product API.
+ */
+@Service
+public class FleetStockSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(FleetStockSyncService.class);
+    private static final int LOW_STOCK_THRESHOLD = 25;
+    private static final int UPDATE_BATCH_SIZE = 500;
+    private static final int MAX_ALERT_LINES = 20;
+
+    private final ProductRepository productRepository;
+    private final HubRepository hubRepository;
+    private final ProductHubVisibilityRepository productHubVisibilityRepository;
+    private final AlertService alertService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    // Low-stock product ids per hub from the previous run, so alerts are only raised for new entries
+    private final Map<UUID, Set<Long>> lastLowStockByHub = new ConcurrentHashMap<>();
+
+    @Value("${app.stock-sync.enabled:true}")
+    private boolean scheduledSyncEnabled;
+
+    public FleetStockSyncService(ProductRepository productRepository, HubRepository hubRepository,
+                                 ProductHubVisibilityRepository productHubVisibilityRepository,
+                                 AlertService alertService, JdbcTemplate jdbcTemplate) {
+        this.productRepository = productRepository;
+        this.hubRepository = hubRepository;
+        this.productHubVisibilityRepository = productHubVisibilityRepository;
+        this.alertService = alertService;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Scheduled(cron = "${app.stock-sync.cron:0 0 * * * *}")
+    public void scheduledSync() {
+        if (!scheduledSyncEnabled) {
+            return;
+        }
+        try {
+            FleetStockSyncResponse result = syncAllProducts();
+            log.info("Scheduled stock sync: {} products scanned, {} updated, {} low-stock in {} ms",
+                    result.getProductsScanned(), result.getProductsUpdated(), result.getLowStockCount(), result.getDurationMs());
+        } catch (IllegalStateException e) {
+            log.info("Skipping scheduled stock sync: {}", e.getMessage());
+        }
+    }
+
+    public FleetStockSyncResponse syncAllProducts() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Stock sync is already running");
+        }
+        try {
+            return doSync();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private FleetStockSyncResponse doSync() {
+        long started = System.currentTimeMillis();
+
+        Map<UUID, Hub> hubsById = new HashMap<>();
+        for (Hub hub : hubRepository.findAll()) {
+            hubsById.put(hub.getId(), hub);
+        }
+
+        Map<Long, String> productNames = new HashMap<>();
+        Map<Long, Integer> currentStock = new HashMap<>();
+        for (Object[] row : productRepository.findStockSnapshot()) {
+            Long productId = ((Number) row[0]).longValue();
+            productNames.put(productId, (String) row[1]);
+            currentStock.put(productId, row[2] != null ? ((Number) row[2]).intValue() : null);
+        }
+
+        // Hash join the aggregate rows onto known hubs, partitioned by hub
+        Map<UUID, List<long[]>> rowsByHub = new HashMap<>();
+        for (Object[] row : productHubVisibilityRepository.sumStockByProductAndHub()) {
+            UUID hubId = row[1] instanceof UUID uuid ? uuid : UUID.fromString(row[1].toString());
+            if (!hubsById.containsKey(hubId)) {
+                continue;
+            }
+            long productId = ((Number) row[0]).longValue();
+            long quantity = ((Number) row[2]).longValue();
+            rowsByHub.computeIfAbsent(hubId, k -> new ArrayList<>()).add(new long[] { productId, quantity });
+        }
+
+        List<HubResult> hubResults = rowsByHub.entrySet().parallelStream()
+                .map(entry -> processHub(hubsById.get(entry.getKey()), entry.getValue(), productNames))
+                .toList();
+
+        // Only products that have hub rows are reconciled; "ALL" products keep their catalog stock
+        Map<Long, Integer> totals = new HashMap<>();
+        List<String> warnings = new ArrayList<>();
+        int lowStockCount = 0;
+        int alertsRaised = 0;
+        for (HubResult result : hubResults) {
+            for (int i = 0; i < result.productIds.length; i++) {
+                totals.merge(result.productIds[i], result.quantities[i], Integer::sum);
+            }
+            warnings.addAll(result.warnings);
+            lowStockCount += result.lowStockIds.size();
+            if (raiseLowStockAlert(result)) {
+                alertsRaised++;
+            }
+        }
+        lastLowStockByHub.keySet().retainAll(rowsByHub.keySet());
+
+        List<Object[]> updates = new ArrayList<>();
+        totals.forEach((productId, total) -> {
+            if (currentStock.containsKey(productId) && !total.equals(currentStock.get(productId))) {
+                updates.add(new Object[] { total, productId });
+            }
+        });
+        jdbcTemplate.batchUpdate("UPDATE products SET stock = ? WHERE id = ?", updates, UPDATE_BATCH_SIZE,
+                (ps, update) -> {
+                    ps.setInt(1, (Integer) update[0]);
+                    ps.setLong(2, (Long) update[1]);
+                });
+
+        FleetStockSyncResponse response = new FleetStockSyncResponse();
+        response.setProductsScanned(currentStock.size());
+        response.setProductsUpdated(updates.size());
+        response.setHubsProcessed(hubResults.size());
+        response.setLowStockCount(lowStockCount);
+        response.setAlertsRaised(alertsRaised);
+        response.setLowStockWarnings(warnings);
+        response.setDurationMs(System.currentTimeMillis() - started);
+        return response;
+    }
+
+    private HubResult processHub(Hub hub, List<long[]> rows, Map<Long, String> productNames) {
+        HubResult result = new HubResult(hub, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            long productId = rows.get(i)[0];
+            int quantity = (int) rows.get(i)[1];
+            result.productIds[i] = productId;
+            result.quantities[i] = quantity;
+            if (quantity > 0 && quantity <= LOW_STOCK_THRESHOLD) {
+                result.lowStockIds.add(productId);
+                result.warnings.add(hub.getName() + " (" + hub.getLocation() + "): "
+                        + productNames.getOrDefault(productId, "Product " + productId)
+                        + " - only " + quantity + " units left");
+            }
+        }
+        return result;
+    }
+
+    private boolean raiseLowStockAlert(HubResult result) {
+        Set<Long> previous = lastLowStockByHub.getOrDefault(result.hub.getId(), Set.of());
+        lastLowStockByHub.put(result.hub.getId(), result.lowStockIds);
+        if (result.lowStockIds.isEmpty() || previous.containsAll(result.lowStockIds)) {
+            return false;
+        }
+
+        List<String> lines = result.warnings.size() > MAX_ALERT_LINES
+                ? result.warnings.subList(0, MAX_ALERT_LINES)
+                : result.warnings;
+        StringBuilder message = new StringBuilder(String.join("\n", lines));
+        if (result.warnings.size() > MAX_ALERT_LINES) {
+            message.append("\n...and ").append(result.warnings.size() - MAX_ALERT_LINES).append(" more");
+        }
+
+        SystemAlert alert = new SystemAlert();
+        alert.setTitle("Low stock at " + result.hub.getName() + ": " + result.lowStockIds.size() + " products");
+        alert.setMessage(message.toString());
+        alert.setSeverity("WARNING");
+        alert.setType("LOW_STOCK");
+        try {
+            alertService.createAlert(alert);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to raise low-stock alert for hub {}", result.hub.getId(), e);
+            return false;
+        }
+    }
+
+    private static final class HubResult {
+        private final Hub hub;
+        private final long[] productIds;
+        private final int[] quantities;
+        private final Set<Long> lowStockIds = new HashSet<>();
+        private final List<String> warnings = new ArrayList<>();
+
+        private HubResult(Hub hub, int size) {
+            this.hub = hub;
+            this.productIds = new long[size];
+            this.quantities = new int[size];
+        }
+    }
+}
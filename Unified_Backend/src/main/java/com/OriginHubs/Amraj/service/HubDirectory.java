@@ -0,0 +1,227 @@
+package com.OriginHubs.Amraj.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.OriginHubs.Amraj.dto.HubDetailResponse;
+import com.OriginHubs.Amraj.dto.HubSummaryResponse;
+import com.OriginHubs.Amraj.entity.Hub;
+import com.OriginHubs.Amraj.entity.enums.HubStatus;
+import com.OriginHubs.Amraj.repository.HubManagementRepository;
+
+/**
+ * In-memory directory of all hubs, indexed by id, code and status, with the city grouping
+ * and the city and region lists precomputed. Each rebuild publishes a new immutable
+ * snapshot, so readers never lock and never see a half-built directory. Rebuilt after
+ * HubService commits a hub write.
+ */
+@Service
+public class HubDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(HubDirectory.class);
+    private static final String UNKNOWN_CITY = "Unknown";
+
+    // Same order as the listing query used: city, then name, missing values last
+    private static final Comparator<HubDetailResponse> LISTING_ORDER = Comparator
+            .comparing(HubDetailResponse::city, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(HubDetailResponse::name, Comparator.nullsLast(Comparator.<String>naturalOrder()));
+
+    private final HubManagementRepository hubRepository;
+    private volatile Snapshot snapshot;
+
+    public HubDirectory(HubManagementRepository hubRepository) {
+        this.hubRepository = hubRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<HubDetailResponse> hubs = new ArrayList<>();
+        for (Hub hub : hubRepository.findAll()) {
+            hubs.add(toDetailResponse(hub));
+        }
+        hubs.sort(LISTING_ORDER);
+        snapshot = new Snapshot(hubs);
+        log.debug("Rebuilt hub directory with {} hubs", hubs.size());
+    }
+
+    /**
+     * Rebuild once the current transaction commits, so the directory never shows uncommitted hubs.
+     */
+    public void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    public Optional<HubDetailResponse> findById(UUID id) {
+        return Optional.ofNullable(snapshot().byId.get(id));
+    }
+
+    public Optional<HubDetailResponse> findByCode(String code) {
+        return Optional.ofNullable(snapshot().byCode.get(code));
+    }
+
+    /**
+     * Hubs with the given status (any when null) whose name, code, location or city contains
+     * {@code search} (any when null), ordered by city then name.
+     */
+    public List<HubSummaryResponse> search(HubStatus status, String search) {
+        Snapshot current = snapshot();
+        if (search == null) {
+            return status == null ? current.summaries : current.summariesByStatus.getOrDefault(status, List.of());
+        }
+        List<HubDetailResponse> candidates = status == null ? current.hubs : current.byStatus.getOrDefault(status, List.of());
+        List<HubSummaryResponse> result = new ArrayList<>();
+        for (HubDetailResponse hub : candidates) {
+            if (contains(hub.name(), search) || contains(hub.code(), search)
+                    || contains(hub.location(), search) || contains(hub.city(), search)) {
+                result.add(toSummaryResponse(hub));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@link #search} grouped by city, cities in order.
+     */
+    public Map<String, List<HubSummaryResponse>> groupedByCity(HubStatus status, String search) {
+        if (status == null && search == null) {
+            return snapshot().groupedByCity;
+        }
+        return groupByCity(search(status, search));
+    }
+
+    public List<String> cities() {
+        return snapshot().cities;
+    }
+
+    public List<String> regions() {
+        return snapshot().regions;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private static boolean contains(String value, String search) {
+        return value != null && value.contains(search);
+    }
+
+    private static Map<String, List<HubSummaryResponse>> groupByCity(List<HubSummaryResponse> hubs) {
+        Map<String, List<HubSummaryResponse>> grouped = new LinkedHashMap<>();
+        for (HubSummaryResponse hub : hubs) {
+            grouped.computeIfAbsent(hub.city() != null ? hub.city() : UNKNOWN_CITY, city -> new ArrayList<>()).add(hub);
+        }
+        grouped.replaceAll((city, list) -> List.copyOf(list));
+        return Collections.unmodifiableMap(grouped);
+    }
+
+    private static HubSummaryResponse toSummaryResponse(HubDetailResponse hub) {
+        return new HubSummaryResponse(
+                hub.id(),
+                hub.code(),
+                hub.name(),
+                hub.location(),
+                hub.contactName(),
+                hub.contactPhone(),
+                hub.contactEmail(),
+                hub.city(),
+                hub.region(),
+                hub.latitude(),
+                hub.longitude(),
+                hub.status()
+        );
+    }
+
+    private static HubDetailResponse toDetailResponse(Hub hub) {
+        return new HubDetailResponse(
+                hub.getId(),
+                hub.getCode(),
+                hub.getName(),
+                hub.getLocation(),
+                hub.getContactName(),
+                hub.getContactPhone(),
+                hub.getContactEmail(),
+                hub.getCity(),
+                hub.getRegion(),
+                hub.getAddress(),
+                hub.getLatitude(),
+                hub.getLongitude(),
+                hub.getStatus(),
+                hub.getCreatedAt(),
+                hub.getUpdatedAt()
+        );
+    }
+
+    private static final class Snapshot {
+        private final List<HubDetailResponse> hubs;
+        private final List<HubSummaryResponse> summaries;
+        private final Map<UUID, HubDetailResponse> byId = new HashMap<>();
+        private final Map<String, HubDetailResponse> byCode = new HashMap<>();
+        private final Map<HubStatus, List<HubDetailResponse>> byStatus = new EnumMap<>(HubStatus.class);
+        private final Map<HubStatus, List<HubSummaryResponse>> summariesByStatus = new EnumMap<>(HubStatus.class);
+        private final Map<String, List<HubSummaryResponse>> groupedByCity;
+        private final List<String> cities;
+        private final List<String> regions;
+
+        private Snapshot(List<HubDetailResponse> sorted) {
+            hubs = List.copyOf(sorted);
+            List<HubSummaryResponse> allSummaries = new ArrayList<>(hubs.size());
+            TreeSet<String> citySet = new TreeSet<>();
+            TreeSet<String> regionSet = new TreeSet<>();
+            for (HubDetailResponse hub : hubs) {
+                HubSummaryResponse summary = toSummaryResponse(hub);
+                allSummaries.add(summary);
+                byId.put(hub.id(), hub);
+                if (hub.code() != null) {
+                    byCode.put(hub.code(), hub);
+                }
+                if (hub.status() != null) {
+                    byStatus.computeIfAbsent(hub.status(), s -> new ArrayList<>()).add(hub);
+                    summariesByStatus.computeIfAbsent(hub.status(), s -> new ArrayList<>()).add(summary);
+                }
+                if (hub.city() != null) {
+                    citySet.add(hub.city());
+                }
+                if (hub.region() != null) {
+                    regionSet.add(hub.region());
+                }
+            }
+            byStatus.replaceAll((status, list) -> List.copyOf(list));
+            summariesByStatus.replaceAll((status, list) -> List.copyOf(list));
+            summaries = List.copyOf(allSummaries);
+            groupedByCity = groupByCity(summaries);
+            cities = List.copyOf(citySet);
+            regions = List.copyOf(regionSet);
+        }
+    }
+}
@@ -4,7 +4,6 @@ import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,9 +21,21 @@ import com.OriginHubs.Amraj.repository.HubManagementRepository;
 public class HubService {
 
     private final HubManagementRepository hubRepository;
-
-    public HubService(HubManagementRepository hubRepository) {
+    private final InventorySearchIndex inventorySearchIndex;
+    private final NearestHubIndex nearestHubIndex;
+    private final DeliveryZoneIndex deliveryZoneIndex;
+    private final HubDirectory hubDirectory;
+    private final ProductAvailabilityIndex productAvailabilityIndex;
+
+    public HubService(HubManagementRepository hubRepository, InventorySearchIndex inventorySearchIndex,
+                      NearestHubIndex nearestHubIndex, DeliveryZoneIndex deliveryZoneIndex,
+                      HubDirectory hubDirectory, ProductAvailabilityIndex productAvailabilityIndex) {
         this.hubRepository = hubRepository;
+        this.inventorySearchIndex = inventorySearchIndex;
+        this.nearestHubIndex = nearestHubIndex;
+        this.deliveryZoneIndex = deliveryZoneIndex;
+        this.hubDirectory = hubDirectory;
+        this.productAvailabilityIndex = productAvailabilityIndex;
     }
 
     /**
@@ -32,10 +43,7 @@ public class HubService {
      */
     @Transactional(readOnly = true)
     public List<HubSummaryResponse> getAllHubs(HubStatus status, String search) {
-        List<Hub> hubs = hubRepository.findByStatusAndSearch(status, search);
-        return hubs.stream()
-                .map(this::toSummaryResponse)
-                .toList();
+        return hubDirectory.search(status, search);
     }
 
     /**
@@ -43,12 +51,7 @@ public class HubService {
      */
     @Transactional(readOnly = true)
     public Map<String, List<HubSummaryResponse>> getHubsGroupedByCity(HubStatus status, String search) {
-        List<Hub> hubs = hubRepository.findByStatusAndSearch(status, search);
-        return hubs.stream()
-                .collect(Collectors.groupingBy(
-                        hub -> hub.getCity() != null ? hub.getCity() : "Unknown",
-                        Collectors.mapping(this::toSummaryResponse, Collectors.toList())
-                ));
+        return hubDirectory.groupedByCity(status, search);
     }
 
     /**
@@ -56,9 +59,8 @@ public class HubService {
      */
     @Transactional(readOnly = true)
     public HubDetailResponse getHubById(UUID id) {
-        Hub hub = hubRepository.findById(id)
+        return hubDirectory.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Hub not found with ID: " + id));
-        return toDetailResponse(hub);
     }
 
     /**
@@ -66,9 +68,8 @@ public class HubService {
      */
     @Transactional(readOnly = true)
     public HubDetailResponse getHubByCode(String code) {
-        Hub hub = hubRepository.findByCode(code)
+        return hubDirectory.findByCode(code)
                 .orElseThrow(() -> new IllegalArgumentException("Hub not found with code: " + code));
-        return toDetailResponse(hub);
     }
 
     /**
@@ -102,6 +103,8 @@ public class HubService {
         hub.setUpdatedAt(ZonedDateTime.now());
 
         Hub savedHub = hubRepository.save(hub);
+        productAvailabilityIndex.addHub(savedHub.getId());
+        hubsChanged();
         return toDetailResponse(savedHub);
     }
 
@@ -137,6 +140,9 @@ public class HubService {
         hub.setUpdatedAt(ZonedDateTime.now());
 
         Hub updatedHub = hubRepository.save(hub);
+        // Indexed inventory carries the hub name
+        inventorySearchIndex.evictHub(id);
+        hubsChanged();
         return toDetailResponse(updatedHub);
     }
 
@@ -151,6 +157,7 @@ public class HubService {
         hub.setUpdatedAt(ZonedDateTime.now());
 
         Hub updatedHub = hubRepository.save(hub);
+        hubsChanged();
         return toDetailResponse(updatedHub);
     }
 
@@ -162,6 +169,9 @@ public class HubService {
             throw new IllegalArgumentException("Hub not found with ID: " + id);
         }
         hubRepository.deleteById(id);
+        inventorySearchIndex.evictHub(id);
+        productAvailabilityIndex.removeHub(id);
+        hubsChanged();
     }
 
     /**
@@ -174,6 +184,7 @@ public class HubService {
         hub.setStatus(status);
         hub.setUpdatedAt(ZonedDateTime.now());
         Hub savedHub = hubRepository.save(hub);
+        hubsChanged();
         return toSummaryResponse(savedHub);
     }
 
@@ -182,7 +193,7 @@ public class HubService {
      */
     @Transactional(readOnly = true)
     public List<String> getAllCities() {
-        return hubRepository.findAllCities();
+        return hubDirectory.cities();
     }
 
     /**
@@ -190,7 +201,16 @@ public class HubService {
      */
     @Transactional(readOnly = true)
     public List<String> getAllRegions() {
-        return hubRepository.findAllRegions();
+        return hubDirectory.regions();
+    }
+
+    /**
+     * Refresh everything derived from the hubs table once the write commits
+     */
+    private void hubsChanged() {
+        hubDirectory.rebuildAfterCommit();
+        nearestHubIndex.rebuildAfterCommit();
+        deliveryZoneIndex.rebuildAfterCommit();
     }
 
     // Helper methods to convert entities to DTOs
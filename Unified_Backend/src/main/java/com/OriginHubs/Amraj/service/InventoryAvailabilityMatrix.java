@@ -0,0 +1,299 @@
+package com.OriginHubs.Amraj.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import com.OriginHubs.Amraj.dto.HubQuantityResponse;
+import com.OriginHubs.Amraj.dto.SkuAvailabilityResponse;
+
+/**
+ * Fleet-wide SKU x hub quantity matrix. Every hub gets an ordinal the first time it is
+ * seen, and every SKU a row of ints indexed by that ordinal, so "where else is this
+ * stocked" is a handful of array reads instead of a query per hub. Kept current by
+ * {@link InventorySearchIndex}, which forwards every committed inventory write here.
+ */
+@Service
+public class InventoryAvailabilityMatrix {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryAvailabilityMatrix.class);
+    // Cell value for a hub that does not carry the SKU, as opposed to carrying none of it
+    private static final int ABSENT = -1;
+    private static final int MAX_SKUS_PER_LOOKUP = 1000;
+
+    private static final String ROWS_SQL = """
+        SELECT i.id, i.hub_id, h.name, i.sku, i.quantity
+        FROM inventory_items i
+        JOIN hubs h ON h.id = i.hub_id
+        """;
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(
+            rs.getObject(1, UUID.class), rs.getObject(2, UUID.class), rs.getString(3), rs.getString(4), rs.getInt(5));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Integer> ordinalByHub = new HashMap<>();
+    private UUID[] hubIds = new UUID[16];
+    private String[] hubNames = new String[16];
+    // Rows are keyed by the exact SKU, as the (hub_id, sku) unique index is case-sensitive
+    private final Map<String, int[]> rowsBySku = new HashMap<>();
+    // Stored SKUs by upper-cased form, so lookups can fold case without merging distinct items
+    private final Map<String, Set<String>> skusByFoldedSku = new HashMap<>();
+    // Where each item sits, so deletes and SKU renames can clear the old cell
+    private final Map<UUID, Cell> cellsByItem = new HashMap<>();
+
+    // Item ids written while a (re)load is reading rows; their committed state wins over the rows read
+    private final List<Set<UUID>> loadsInFlight = new CopyOnWriteArrayList<>();
+
+    public InventoryAvailabilityMatrix(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Per-hub quantities and the fleet total of each requested SKU, in request order.
+     * SKUs are matched case-insensitively; each stored spelling that matches gets its own
+     * entry, and unknown SKUs come back with no hubs.
+     */
+    public List<SkuAvailabilityResponse> lookup(Collection<String> skus) {
+        Map<String, String> requested = new LinkedHashMap<>();
+        for (String sku : skus) {
+            if (sku != null && !sku.isBlank()) {
+                requested.putIfAbsent(fold(sku), sku.trim());
+            }
+        }
+        if (requested.size() > MAX_SKUS_PER_LOOKUP) {
+            throw new IllegalArgumentException("At most " + MAX_SKUS_PER_LOOKUP + " SKUs can be looked up at once");
+        }
+
+        List<SkuAvailabilityResponse> result = new ArrayList<>(requested.size());
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, String> entry : requested.entrySet()) {
+                Set<String> stored = skusByFoldedSku.get(entry.getKey());
+                if (stored == null) {
+                    result.add(new SkuAvailabilityResponse(entry.getValue(), 0, 0, List.of()));
+                    continue;
+                }
+                for (String sku : stored) {
+                    result.add(availability(sku, rowsBySku.get(sku)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Caller holds the read lock.
+     */
+    private SkuAvailabilityResponse availability(String sku, int[] row) {
+        List<HubQuantityResponse> hubs = new ArrayList<>();
+        long total = 0;
+        for (int ordinal = 0; ordinal < row.length; ordinal++) {
+            if (row[ordinal] != ABSENT) {
+                hubs.add(new HubQuantityResponse(hubIds[ordinal], hubNames[ordinal], row[ordinal]));
+                total += row[ordinal];
+            }
+        }
+        hubs.sort((a, b) -> Integer.compare(b.quantity(), a.quantity()));
+        return new SkuAvailabilityResponse(sku, total, hubs.size(), hubs);
+    }
+
+    /**
+     * Build the matrix from inventory_items.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        long started = System.currentTimeMillis();
+        reload(null);
+        lock.readLock().lock();
+        try {
+            log.info("Built inventory availability matrix: {} SKUs across {} hubs in {} ms",
+                    rowsBySku.size(), ordinalByHub.size(), System.currentTimeMillis() - started);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-read one hub's column, e.g. after the hub was renamed or deleted or its
+     * quantities were rewritten with plain SQL.
+     */
+    public void reloadHub(UUID hubId) {
+        reload(hubId);
+    }
+
+    /**
+     * Replace the cells of one hub, or of every hub when {@code hubId} is null, with the
+     * rows in the database. Cells written while the rows are read are left alone.
+     */
+    private void reload(UUID hubId) {
+        Set<UUID> written = ConcurrentHashMap.newKeySet();
+        loadsInFlight.add(written);
+        try {
+            List<Row> rows = hubId == null
+                    ? jdbcTemplate.query(ROWS_SQL, ROW_MAPPER)
+                    : jdbcTemplate.query(ROWS_SQL + " WHERE i.hub_id = ?", ROW_MAPPER, hubId);
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = hubId == null ? null : ordinalByHub.get(hubId);
+                if (hubId == null || ordinal != null) {
+                    Iterator<Map.Entry<UUID, Cell>> cells = cellsByItem.entrySet().iterator();
+                    while (cells.hasNext()) {
+                        Map.Entry<UUID, Cell> entry = cells.next();
+                        if ((ordinal == null || entry.getValue().ordinal == ordinal) && !written.contains(entry.getKey())) {
+                            clear(entry.getValue());
+                            cells.remove();
+                        }
+                    }
+                }
+                for (Row row : rows) {
+                    if (!written.contains(row.itemId)) {
+                        set(row.itemId, row.hubId, row.hubName, row.sku, row.quantity);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            loadsInFlight.remove(written);
+        }
+    }
+
+    /**
+     * Record an item's committed quantity.
+     */
+    public void put(UUID itemId, UUID hubId, String hubName, String sku, Integer quantity) {
+        markWritten(itemId);
+        lock.writeLock().lock();
+        try {
+            set(itemId, hubId, hubName, sku, quantity != null ? quantity : 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a deleted item.
+     */
+    public void remove(UUID itemId) {
+        markWritten(itemId);
+        lock.writeLock().lock();
+        try {
+            Cell cell = cellsByItem.remove(itemId);
+            if (cell != null) {
+                clear(cell);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void markWritten(UUID itemId) {
+        for (Set<UUID> written : loadsInFlight) {
+            written.add(itemId);
+        }
+    }
+
+    /**
+     * Caller holds the write lock.
+     */
+    private void set(UUID itemId, UUID hubId, String hubName, String sku, int quantity) {
+        int ordinal = ordinal(hubId);
+        if (hubName != null) {
+            hubNames[ordinal] = hubName;
+        }
+        Cell previous = cellsByItem.put(itemId, new Cell(sku, ordinal));
+        if (previous != null && !(previous.sku.equals(sku) && previous.ordinal == ordinal)) {
+            clear(previous);
+        }
+        int[] row = rowsBySku.get(sku);
+        if (row == null) {
+            skusByFoldedSku.computeIfAbsent(fold(sku), k -> new TreeSet<>()).add(sku);
+        }
+        if (row == null || row.length <= ordinal) {
+            row = grow(row, hubIds.length);
+            rowsBySku.put(sku, row);
+        }
+        row[ordinal] = quantity;
+    }
+
+    private void clear(Cell cell) {
+        int[] row = rowsBySku.get(cell.sku);
+        if (row == null || row.length <= cell.ordinal) {
+            return;
+        }
+        row[cell.ordinal] = ABSENT;
+        for (int value : row) {
+            if (value != ABSENT) {
+                return;
+            }
+        }
+        rowsBySku.remove(cell.sku);
+        String folded = fold(cell.sku);
+        Set<String> stored = skusByFoldedSku.get(folded);
+        if (stored != null) {
+            stored.remove(cell.sku);
+            if (stored.isEmpty()) {
+                skusByFoldedSku.remove(folded);
+            }
+        }
+    }
+
+    private int ordinal(UUID hubId) {
+        Integer ordinal = ordinalByHub.get(hubId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        int next = ordinalByHub.size();
+        if (next == hubIds.length) {
+            hubIds = Arrays.copyOf(hubIds, next * 2);
+            hubNames = Arrays.copyOf(hubNames, next * 2);
+        }
+        hubIds[next] = hubId;
+        ordinalByHub.put(hubId, next);
+        return next;
+    }
+
+    private static int[] grow(int[] row, int length) {
+        int[] grown = new int[length];
+        Arrays.fill(grown, ABSENT);
+        if (row != null) {
+            System.arraycopy(row, 0, grown, 0, row.length);
+        }
+        return grown;
+    }
+
+    private static String fold(String sku) {
+        return sku.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record Cell(String sku, int ordinal) {
+    }
+
+    private record Row(UUID itemId, UUID hubId, String hubName, String sku, int quantity) {
+    }
+}
@@ -0,0 +1,360 @@
+package com.OriginHubs.Amraj.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.OriginHubs.Amraj.entity.Hub;
+import com.OriginHubs.Amraj.entity.enums.InventoryMovementType;
+import com.OriginHubs.Amraj.entity.enums.InventoryStatus;
+import com.OriginHubs.Amraj.model.BulkUploadResponse;
+import com.OriginHubs.Amraj.repository.HubManagementRepository;
+
+/**
+ * CSV export and import of a hub's inventory, both streamed. Export writes rows straight
+ * from a database cursor; import parses record by record and upserts by (hub_id, sku) in
+ * batches, each committed on its own, so neither side holds more than one batch in
+ * memory. Rows that fail validation are reported by line number and skipped.
+ */
+@Service
+public class InventoryCsvService {
+
+    private static final int FETCH_SIZE = 2000;
+    private static final int IMPORT_BATCH_SIZE = 1000;
+    // The error report is capped; errorCount still counts every rejected row
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String IMPORT_REFERENCE = "CSV import";
+
+    private static final String[] HEADERS = {
+            "sku", "product_name", "quantity", "reorder_level", "unit_price", "unit", "description",
+            "status", "last_restocked", "updated_at"
+    };
+
+    private static final String EXPORT_SQL = """
+        SELECT sku, product_name, quantity, reorder_level, unit_price, unit, description,
+               status, last_restocked, updated_at
+        FROM inventory_items
+        WHERE hub_id = ?
+        ORDER BY sku
+    """;
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO inventory_items (id, hub_id, sku, product_name, quantity, reorder_level, status,
+                                     description, unit_price, unit, last_restocked, created_at, updated_at)
+        VALUES (gen_random_uuid(), ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW(), NOW())
+        ON CONFLICT (hub_id, sku) DO UPDATE
+        SET product_name = EXCLUDED.product_name,
+            quantity = EXCLUDED.quantity,
+            reorder_level = EXCLUDED.reorder_level,
+            status = EXCLUDED.status,
+            description = COALESCE(EXCLUDED.description, inventory_items.description),
+            unit_price = COALESCE(EXCLUDED.unit_price, inventory_items.unit_price),
+            unit = COALESCE(EXCLUDED.unit, inventory_items.unit),
+            last_restocked = CASE WHEN EXCLUDED.quantity > inventory_items.quantity
+                                  THEN NOW() ELSE inventory_items.last_restocked END,
+            updated_at = NOW()
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final HubManagementRepository hubRepository;
+    private final InventorySearchIndex inventorySearchIndex;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final LowStockAlertService lowStockAlertService;
+
+    public InventoryCsvService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               HubManagementRepository hubRepository, InventorySearchIndex inventorySearchIndex,
+                               InventoryLedgerService inventoryLedgerService, LowStockAlertService lowStockAlertService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.hubRepository = hubRepository;
+        this.inventorySearchIndex = inventorySearchIndex;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.lowStockAlertService = lowStockAlertService;
+    }
+
+    /**
+     * Resolve the hub up front, so a bad id fails before any response is streamed.
+     */
+    public Hub getHub(UUID hubId) {
+        return hubRepository.findById(hubId)
+                .orElseThrow(() -> new IllegalArgumentException("Hub not found with id: " + hubId));
+    }
+
+    public void exportHub(UUID hubId, OutputStream out) {
+        try {
+            CSVPrinter printer = new CSVPrinter(
+                    new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)),
+                    CSVFormat.DEFAULT.builder().setHeader(HEADERS).build());
+            readOnlyTransaction.executeWithoutResult(status -> streamingJdbcTemplate.query(EXPORT_SQL, rs -> {
+                try {
+                    printer.printRecord(
+                            rs.getString("sku"),
+                            rs.getString("product_name"),
+                            rs.getInt("quantity"),
+                            rs.getInt("reorder_level"),
+                            rs.getObject("unit_price"),
+                            rs.getString("unit"),
+                            rs.getString("description"),
+                            rs.getString("status"),
+                            rs.getTimestamp("last_restocked") != null ? rs.getTimestamp("last_restocked").toInstant() : null,
+                            rs.getTimestamp("updated_at") != null ? rs.getTimestamp("updated_at").toInstant() : null);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, hubId));
+            printer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Upsert a hub's inventory from CSV. Required columns: sku, product_name, quantity;
+     * reorder_level defaults to 0 for new items and to the current level for existing ones.
+     * Blank unit_price, unit and description leave existing values alone. Later rows for
+     * the same SKU win; the export's status and timestamp columns are ignored.
+     */
+    public BulkUploadResponse importHub(UUID hubId, InputStream in) {
+        Hub hub = getHub(hubId);
+        ImportRun run = new ImportRun(hubId, hub.getName());
+        try (CSVParser parser = new CSVParser(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)),
+                CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).setIgnoreHeaderCase(true).setTrim(true).build())) {
+            for (String required : new String[] {"sku", "product_name", "quantity"}) {
+                if (parser.getHeaderNames().stream().noneMatch(required::equalsIgnoreCase)) {
+                    throw new IllegalArgumentException("CSV is missing the " + required + " column");
+                }
+            }
+            for (CSVRecord record : parser) {
+                ImportRow row;
+                try {
+                    row = parse(record);
+                } catch (IllegalArgumentException e) {
+                    run.reject(record.getRecordNumber() + 1, e.getMessage(), record.toMap());
+                    continue;
+                }
+                run.add(row);
+                if (run.batch.size() >= IMPORT_BATCH_SIZE) {
+                    run.flush();
+                }
+            }
+            run.flush();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to parse CSV file: " + e.getMessage());
+        } finally {
+            if (run.applied > 0) {
+                // Plain-SQL writes: have the search index and availability matrix re-read the hub
+                inventorySearchIndex.evictHub(hubId);
+            }
+        }
+        return new BulkUploadResponse(run.applied, run.errorCount, run.errors);
+    }
+
+    private static ImportRow parse(CSVRecord record) {
+        String sku = value(record, "sku");
+        if (sku == null) {
+            throw new IllegalArgumentException("SKU is required");
+        }
+        if (sku.length() > 50) {
+            throw new IllegalArgumentException("SKU must not exceed 50 characters");
+        }
+        String productName = value(record, "product_name");
+        if (productName == null) {
+            throw new IllegalArgumentException("Product name is required");
+        }
+        if (productName.length() > 200) {
+            throw new IllegalArgumentException("Product name must not exceed 200 characters");
+        }
+        Integer quantity = parseCount(value(record, "quantity"), "Quantity");
+        if (quantity == null) {
+            throw new IllegalArgumentException("Quantity is required");
+        }
+        Integer reorderLevel = parseCount(value(record, "reorder_level"), "Reorder level");
+        Double unitPrice = null;
+        String price = value(record, "unit_price");
+        if (price != null) {
+            try {
+                unitPrice = Double.parseDouble(price);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Unit price must be a number");
+            }
+            if (unitPrice < 0 || unitPrice.isNaN() || unitPrice.isInfinite()) {
+                throw new IllegalArgumentException("Unit price must be 0 or greater");
+            }
+        }
+        String unit = value(record, "unit");
+        if (unit != null && unit.length() > 50) {
+            throw new IllegalArgumentException("Unit must not exceed 50 characters");
+        }
+        return new ImportRow(record.getRecordNumber() + 1, sku, productName, quantity, reorderLevel,
+                value(record, "description"), unitPrice, unit);
+    }
+
+    private static String value(CSVRecord record, String column) {
+        if (!record.isMapped(column) || !record.isSet(column)) {
+            return null;
+        }
+        String value = record.get(column);
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    private static Integer parseCount(String value, String label) {
+        if (value == null) {
+            return null;
+        }
+        int count;
+        try {
+            count = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(label + " must be a whole number");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException(label + " must be 0 or greater");
+        }
+        return count;
+    }
+
+    // Same thresholds as InventoryItem#updateStatus
+    private static InventoryStatus statusFor(int quantity, int reorderLevel) {
+        if (quantity == 0) {
+            return InventoryStatus.OUT_OF_STOCK;
+        } else if (quantity < reorderLevel) {
+            return InventoryStatus.REORDER_NEEDED;
+        } else if (quantity <= reorderLevel + (reorderLevel * 0.1)) {
+            return InventoryStatus.LOW_STOCK;
+        }
+        return InventoryStatus.IN_STOCK;
+    }
+
+    private record ImportRow(long line, String sku, String productName, int quantity, Integer reorderLevel,
+                             String description, Double unitPrice, String unit) {
+    }
+
+    private record Existing(int quantity, int reorderLevel) {
+    }
+
+    private final class ImportRun {
+        private final UUID hubId;
+        private final String hubName;
+        // Current batch by SKU; a repeated SKU replaces the earlier row
+        private final Map<String, ImportRow> batch = new LinkedHashMap<>();
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+        private int batchRows;
+        private int applied;
+        private int errorCount;
+
+        private ImportRun(UUID hubId, String hubName) {
+            this.hubId = hubId;
+            this.hubName = hubName;
+        }
+
+        private void add(ImportRow row) {
+            batch.remove(row.sku);
+            batch.put(row.sku, row);
+            batchRows++;
+        }
+
+        private void reject(long line, String message, Map<String, String> data) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                Map<String, Object> errorDetails = new HashMap<>();
+                errorDetails.put("row", line);
+                errorDetails.put("error", message);
+                errorDetails.put("data", data);
+                errors.add(errorDetails);
+            }
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<ImportRow> rows = new ArrayList<>(batch.values());
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(rows));
+                applied += batchRows;
+            } catch (DataAccessException e) {
+                // The batch rolled back as a whole; report each of its rows
+                String message = "Batch rejected by the database: " + e.getMostSpecificCause().getMessage();
+                for (ImportRow row : rows) {
+                    reject(row.line, message, Collections.singletonMap("sku", row.sku));
+                }
+            }
+            batch.clear();
+            batchRows = 0;
+        }
+
+        private void write(List<ImportRow> rows) {
+            Map<String, Existing> existing = lockExisting(rows);
+            List<Object[]> params = new ArrayList<>(rows.size());
+            for (ImportRow row : rows) {
+                Existing before = existing.get(row.sku);
+                int reorderLevel = row.reorderLevel != null ? row.reorderLevel : before != null ? before.reorderLevel : 0;
+                params.add(new Object[] {hubId, row.sku, row.productName, row.quantity, reorderLevel,
+                        statusFor(row.quantity, reorderLevel).name(), row.description, row.unitPrice, row.unit});
+
+                if (before == null) {
+                    inventoryLedgerService.record(hubId, row.sku, row.quantity, InventoryMovementType.CREATED, IMPORT_REFERENCE);
+                    lowStockAlertService.onItemCreated(hubId, hubName, row.sku, row.productName, row.quantity, reorderLevel);
+                } else {
+                    if (row.quantity != before.quantity) {
+                        inventoryLedgerService.record(hubId, row.sku, row.quantity - before.quantity,
+                                InventoryMovementType.ADJUSTMENT, IMPORT_REFERENCE);
+                    }
+                    lowStockAlertService.onQuantityChanged(hubId, hubName, row.sku, row.productName,
+                            before.quantity, before.reorderLevel, row.quantity, reorderLevel);
+                }
+            }
+            jdbcTemplate.batchUpdate(UPSERT_SQL, params);
+        }
+
+        /**
+         * Lock the batch's existing rows in SKU order and read their current values.
+         */
+        private Map<String, Existing> lockExisting(List<ImportRow> rows) {
+            StringBuilder placeholders = new StringBuilder();
+            List<Object> args = new ArrayList<>(rows.size() + 1);
+            args.add(hubId);
+            for (ImportRow row : rows) {
+                placeholders.append(placeholders.length() == 0 ? "?" : ", ?");
+                args.add(row.sku);
+            }
+            Map<String, Existing> existing = new HashMap<>();
+            jdbcTemplate.query("SELECT sku, quantity, reorder_level FROM inventory_items WHERE hub_id = ? AND sku IN ("
+                    + placeholders + ") ORDER BY sku FOR UPDATE",
+                    rs -> {
+                        existing.put(rs.getString("sku"), new Existing(rs.getInt("quantity"), rs.getInt("reorder_level")));
+                    }, args.toArray());
+            return existing;
+        }
+    }
+}
@@ -3,7 +3,6 @@ package com.OriginHubs.Amraj.service;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,10 +10,13 @@ import org.springframework.transaction.annotation.Transactional;
 import com.OriginHubs.Amraj.dto.InventoryItemCreateRequest;
 import com.OriginHubs.Amraj.dto.InventoryItemResponse;
 import com.OriginHubs.Amraj.dto.InventoryItemUpdateRequest;
+import com.OriginHubs.Amraj.dto.PagedResponse;
+import com.OriginHubs.Amraj.dto.StockTransferBatchResponse;
 import com.OriginHubs.Amraj.dto.StockTransferRequest;
 import com.OriginHubs.Amraj.dto.UpdateQuantityRequest;
 import com.OriginHubs.Amraj.entity.Hub;
 import com.OriginHubs.Amraj.entity.InventoryItem;
+import com.OriginHubs.Amraj.entity.enums.InventoryMovementType;
 import com.OriginHubs.Amraj.entity.enums.InventoryStatus;
 import com.OriginHubs.Amraj.repository.HubManagementRepository;
 import com.OriginHubs.Amraj.repository.InventoryItemRepository;
@@ -25,30 +27,31 @@ public class InventoryItemService {
 
     private final InventoryItemRepository inventoryItemRepository;
     private final HubManagementRepository hubRepository;
-
-    public InventoryItemService(InventoryItemRepository inventoryItemRepository, HubManagementRepository hubRepository) {
+    private final InventorySearchIndex inventorySearchIndex;
+    private final StockTransferService stockTransferService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final LowStockAlertService lowStockAlertService;
+
+    public InventoryItemService(InventoryItemRepository inventoryItemRepository, HubManagementRepository hubRepository,
+                                InventorySearchIndex inventorySearchIndex, StockTransferService stockTransferService,
+                                InventoryLedgerService inventoryLedgerService, LowStockAlertService lowStockAlertService) {
         this.inventoryItemRepository = inventoryItemRepository;
         this.hubRepository = hubRepository;
+        this.inventorySearchIndex = inventorySearchIndex;
+        this.stockTransferService = stockTransferService;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.lowStockAlertService = lowStockAlertService;
     }
 
+    @Transactional(readOnly = true)
     public List<InventoryItemResponse> getInventoryByHub(UUID hubId, String status, String search) {
-        List<InventoryItem> items;
-
-        if (status != null && !status.isEmpty() && search != null && !search.isEmpty()) {
-            InventoryStatus inventoryStatus = InventoryStatus.valueOf(status.toUpperCase());
-            items = inventoryItemRepository.findByHubIdAndStatusAndSearch(hubId, inventoryStatus, search);
-        } else if (status != null && !status.isEmpty()) {
-            InventoryStatus inventoryStatus = InventoryStatus.valueOf(status.toUpperCase());
-            items = inventoryItemRepository.findByHubIdAndStatus(hubId, inventoryStatus);
-        } else if (search != null && !search.isEmpty()) {
-            items = inventoryItemRepository.findByHubIdAndSearch(hubId, search);
-        } else {
-            items = inventoryItemRepository.findByHubId(hubId);
-        }
+        return inventorySearchIndex.findAll(hubId, parseStatus(status), search);
+    }
 
-        return items.stream()
-                .map(InventoryItemResponse::from)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PagedResponse<InventoryItemResponse> searchInventory(UUID hubId, String status, String search,
+                                                                String sort, String direction, Integer page, Integer size) {
+        return inventorySearchIndex.search(hubId, parseStatus(status), search, sort, direction, page, size);
     }
 
     public InventoryItemResponse getInventoryItem(UUID id) {
@@ -82,13 +85,19 @@ public class InventoryItemService {
         }
 
         InventoryItem savedItem = inventoryItemRepository.save(item);
+        inventorySearchIndex.index(savedItem);
+        recordChange(savedItem, savedItem.getQuantity(), InventoryMovementType.CREATED);
+        lowStockAlertService.onItemCreated(hub.getId(), hub.getName(), savedItem.getSku(), savedItem.getProductName(),
+                savedItem.getQuantity(), savedItem.getReorderLevel());
         return InventoryItemResponse.from(savedItem);
     }
 
     public InventoryItemResponse updateInventoryItem(UUID id, InventoryItemUpdateRequest request) {
-        InventoryItem item = inventoryItemRepository.findById(id)
+        InventoryItem item = inventoryItemRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new IllegalArgumentException("Inventory item not found with id: " + id));
 
+        int oldQuantity = item.getQuantity();
+        int oldReorderLevel = item.getReorderLevel();
         item.setProductName(request.productName());
         item.setQuantity(request.quantity());
         item.setReorderLevel(request.reorderLevel());
@@ -97,11 +106,14 @@ public class InventoryItemService {
         item.setUnit(request.unit());
 
         InventoryItem updatedItem = inventoryItemRepository.save(item);
+        inventorySearchIndex.index(updatedItem);
+        recordChange(updatedItem, request.quantity() - oldQuantity, InventoryMovementType.ADJUSTMENT);
+        checkLowStock(updatedItem, oldQuantity, oldReorderLevel);
         return InventoryItemResponse.from(updatedItem);
     }
 
     public InventoryItemResponse updateQuantity(UUID id, UpdateQuantityRequest request) {
-        InventoryItem item = inventoryItemRepository.findById(id)
+        InventoryItem item = inventoryItemRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new IllegalArgumentException("Inventory item not found with id: " + id));
 
         Integer oldQuantity = item.getQuantity();
@@ -113,73 +125,54 @@ public class InventoryItemService {
         }
 
         InventoryItem updatedItem = inventoryItemRepository.save(item);
+        inventorySearchIndex.index(updatedItem);
+        recordChange(updatedItem, request.quantity() - oldQuantity, InventoryMovementType.ADJUSTMENT);
+        checkLowStock(updatedItem, oldQuantity, updatedItem.getReorderLevel());
         return InventoryItemResponse.from(updatedItem);
     }
 
     public void markOutOfStock(UUID id) {
-        InventoryItem item = inventoryItemRepository.findById(id)
+        InventoryItem item = inventoryItemRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new IllegalArgumentException("Inventory item not found with id: " + id));
 
+        int oldQuantity = item.getQuantity();
         item.setQuantity(0);
-        inventoryItemRepository.save(item);
+        inventorySearchIndex.index(inventoryItemRepository.save(item));
+        recordChange(item, -oldQuantity, InventoryMovementType.MARKED_OUT_OF_STOCK);
+        checkLowStock(item, oldQuantity, item.getReorderLevel());
     }
 
     public void transferStock(StockTransferRequest request) {
-        // Validate source and destination are different
-        if (request.sourceHubId().equals(request.destinationHubId())) {
-            throw new IllegalArgumentException("Source and destination hubs must be different");
-        }
-
-        // Get source item
-        InventoryItem sourceItem = inventoryItemRepository.findByHubIdAndSku(request.sourceHubId(), request.sku())
-                .orElseThrow(() -> new IllegalArgumentException("Item not found in source hub"));
-
-        // Check if source has enough quantity
-        if (sourceItem.getQuantity() < request.quantity()) {
-            throw new IllegalArgumentException("Insufficient quantity in source hub. Available: " + 
-                                             sourceItem.getQuantity() + ", Requested: " + request.quantity());
-        }
+        stockTransferService.transfer(List.of(request));
+    }
 
-        // Check if destination hub exists
-        Hub destinationHub = hubRepository.findById(request.destinationHubId())
-                .orElseThrow(() -> new IllegalArgumentException("Destination hub not found"));
-
-        // Reduce quantity from source
-        sourceItem.setQuantity(sourceItem.getQuantity() - request.quantity());
-        inventoryItemRepository.save(sourceItem);
-
-        // Add to destination (create if doesn't exist)
-        InventoryItem destinationItem = inventoryItemRepository
-                .findByHubIdAndSku(request.destinationHubId(), request.sku())
-                .orElseGet(() -> {
-                    InventoryItem newItem = new InventoryItem();
-                    newItem.setHub(destinationHub);
-                    newItem.setSku(sourceItem.getSku());
-                    newItem.setProductName(sourceItem.getProductName());
-                    newItem.setQuantity(0);
-                    newItem.setReorderLevel(sourceItem.getReorderLevel());
-                    newItem.setDescription(sourceItem.getDescription());
-                    newItem.setUnitPrice(sourceItem.getUnitPrice());
-                    newItem.setUnit(sourceItem.getUnit());
-                    return newItem;
-                });
-
-        destinationItem.setQuantity(destinationItem.getQuantity() + request.quantity());
-        destinationItem.setLastRestocked(ZonedDateTime.now());
-        inventoryItemRepository.save(destinationItem);
+    public StockTransferBatchResponse transferStockBatch(List<StockTransferRequest> transfers) {
+        return stockTransferService.transfer(transfers);
     }
 
     public void deleteInventoryItem(UUID id) {
-        if (!inventoryItemRepository.existsById(id)) {
-            throw new IllegalArgumentException("Inventory item not found with id: " + id);
-        }
-        inventoryItemRepository.deleteById(id);
+        InventoryItem item = inventoryItemRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new IllegalArgumentException("Inventory item not found with id: " + id));
+        inventoryItemRepository.delete(item);
+        inventorySearchIndex.remove(item.getHub().getId(), id);
+        recordChange(item, -item.getQuantity(), InventoryMovementType.DELETED);
     }
 
+    @Transactional(readOnly = true)
     public List<InventoryItemResponse> getLowStockItems(UUID hubId) {
-        List<InventoryItem> items = inventoryItemRepository.findLowStockByHubId(hubId);
-        return items.stream()
-                .map(InventoryItemResponse::from)
-                .collect(Collectors.toList());
+        return inventorySearchIndex.findBelowReorderLevel(hubId);
+    }
+
+    private void recordChange(InventoryItem item, int quantityDelta, InventoryMovementType type) {
+        inventoryLedgerService.record(item.getHub().getId(), item.getSku(), quantityDelta, type, item.getId().toString());
+    }
+
+    private void checkLowStock(InventoryItem item, int oldQuantity, int oldReorderLevel) {
+        lowStockAlertService.onQuantityChanged(item.getHub().getId(), item.getHub().getName(), item.getSku(),
+                item.getProductName(), oldQuantity, oldReorderLevel, item.getQuantity(), item.getReorderLevel());
+    }
+
+    private static InventoryStatus parseStatus(String status) {
+        return status != null && !status.isEmpty() ? InventoryStatus.valueOf(status.toUpperCase()) : null;
     }
 }
@@ -0,0 +1,305 @@
+package com.OriginHubs.Amraj.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.OriginHubs.Amraj.dto.InventoryMovementResponse;
+import com.OriginHubs.Amraj.dto.InventoryMovementSummaryResponse;
+import com.OriginHubs.Amraj.dto.InventoryStockLevelResponse;
+import com.OriginHubs.Amraj.dto.PagedResponse;
+import com.OriginHubs.Amraj.entity.enums.InventoryMovementType;
+
+/**
+ * Append-only ledger of inventory quantity changes in inventory_movements, keyed by
+ * (hub, sku). Movements recorded inside a transaction are buffered and inserted in one
+ * JDBC batch just before it commits, so they land or roll back with the change they
+ * describe. A scheduled job writes per-(hub, sku) snapshots; stock at any instant is the
+ * latest snapshot at or before it plus the movements since, both found by index seeks.
+ */
+@Service
+public class InventoryLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryLedgerService.class);
+    private static final int BATCH_SIZE = 500;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    // Snapshots stop short of now so movements of transactions still in flight are not skipped
+    private static final Duration SNAPSHOT_LAG = Duration.ofMinutes(5);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO inventory_movements (hub_id, sku, quantity_delta, movement_type, reference, occurred_at)
+            VALUES (?, ?, ?, ?, ?, clock_timestamp())
+            """;
+
+    private static final String SNAPSHOT_SQL = """
+            WITH last_snapshot AS (
+                SELECT DISTINCT ON (hub_id, sku) hub_id, sku, quantity, snapshot_at
+                FROM inventory_snapshots
+                ORDER BY hub_id, sku, snapshot_at DESC
+            ), moved AS (
+                SELECT m.hub_id, m.sku, SUM(m.quantity_delta) AS delta
+                FROM inventory_movements m
+                LEFT JOIN last_snapshot s ON s.hub_id = m.hub_id AND s.sku = m.sku
+                WHERE m.occurred_at <= ? AND (s.snapshot_at IS NULL OR m.occurred_at > s.snapshot_at)
+                GROUP BY m.hub_id, m.sku
+            )
+            INSERT INTO inventory_snapshots (hub_id, sku, quantity, snapshot_at)
+            SELECT mv.hub_id, mv.sku, COALESCE(s.quantity, 0) + mv.delta, ?
+            FROM moved mv
+            LEFT JOIN last_snapshot s ON s.hub_id = mv.hub_id AND s.sku = mv.sku
+            ON CONFLICT (hub_id, sku, snapshot_at) DO NOTHING
+            """;
+
+    // Latest snapshot per SKU at or before the instant, plus the movements after it
+    private static final String STOCK_AT_SQL = """
+            WITH snapshot AS (
+                SELECT DISTINCT ON (sku) sku, quantity, snapshot_at
+                FROM inventory_snapshots
+                WHERE hub_id = ? AND snapshot_at <= ? %1$s
+                ORDER BY sku, snapshot_at DESC
+            ), moved AS (
+                SELECT m.sku, SUM(m.quantity_delta) AS delta
+                FROM inventory_movements m
+                LEFT JOIN snapshot s ON s.sku = m.sku
+                WHERE m.hub_id = ? AND m.occurred_at <= ? %2$s
+                  AND (s.snapshot_at IS NULL OR m.occurred_at > s.snapshot_at)
+                GROUP BY m.sku
+            )
+            SELECT COALESCE(s.sku, mv.sku) AS sku, COALESCE(s.quantity, 0) + COALESCE(mv.delta, 0) AS quantity
+            FROM snapshot s
+            FULL OUTER JOIN moved mv ON mv.sku = s.sku
+            ORDER BY 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventorySearchIndex inventorySearchIndex;
+
+    public InventoryLedgerService(JdbcTemplate jdbcTemplate, InventorySearchIndex inventorySearchIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventorySearchIndex = inventorySearchIndex;
+    }
+
+    /**
+     * Append a movement. Inside a transaction it is written with the transaction's other
+     * movements just before commit; outside one it is written immediately. Either way it is
+     * stamped when written, not when recorded, so a long transaction cannot commit movements
+     * dated before a snapshot that has already been taken.
+     */
+    public void record(UUID hubId, String sku, int quantityDelta, InventoryMovementType type, String reference) {
+        if (quantityDelta == 0) {
+            return;
+        }
+        Movement movement = new Movement(hubId, sku, quantityDelta, type, reference);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(movement));
+            return;
+        }
+        PendingMovements pending = (PendingMovements) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingMovements();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.movements.add(movement);
+    }
+
+    @Scheduled(cron = "${app.inventory-ledger.snapshot-cron:0 30 2 * * *}")
+    public void takeSnapshots() {
+        long started = System.currentTimeMillis();
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(SNAPSHOT_LAG));
+        int written = jdbcTemplate.update(SNAPSHOT_SQL, cutoff, cutoff);
+        log.info("Wrote {} inventory snapshots up to {} in {} ms", written, cutoff, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Ledger quantity per SKU of a hub at the given instant, optionally for one SKU.
+     */
+    @Transactional(readOnly = true)
+    public List<InventoryStockLevelResponse> getStockAt(UUID hubId, String sku, ZonedDateTime at) {
+        Timestamp instant = Timestamp.from((at != null ? at : ZonedDateTime.now()).toInstant());
+        List<Object> args = new ArrayList<>();
+        args.add(hubId);
+        args.add(instant);
+        if (sku != null) {
+            args.add(sku);
+        }
+        args.add(hubId);
+        args.add(instant);
+        if (sku != null) {
+            args.add(sku);
+        }
+        String sql = sku != null
+                ? STOCK_AT_SQL.formatted("AND sku = ?", "AND m.sku = ?")
+                : STOCK_AT_SQL.formatted("", "");
+        return jdbcTemplate.query(sql, (rs, rowNum) ->
+                new InventoryStockLevelResponse(rs.getString("sku"), rs.getInt("quantity"), null), args.toArray());
+    }
+
+    @Transactional(readOnly = true)
+    public PagedResponse<InventoryMovementResponse> getMovements(UUID hubId, String sku, ZonedDateTime from,
+                                                                 ZonedDateTime to, Integer page, Integer size) {
+        int pageNumber = page != null && page > 0 ? page : 0;
+        int pageSize = size != null && size > 0 ? Math.min(size, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        List<Object> args = new ArrayList<>();
+        String where = periodFilter(hubId, sku, from, to, args);
+
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_movements WHERE " + where,
+                Long.class, args.toArray());
+        args.add(pageSize);
+        args.add((long) pageNumber * pageSize);
+        List<InventoryMovementResponse> content = jdbcTemplate.query(
+                "SELECT id, hub_id, sku, quantity_delta, movement_type, reference, occurred_at FROM inventory_movements WHERE "
+                        + where + " ORDER BY occurred_at DESC, id DESC LIMIT ? OFFSET ?",
+                (rs, rowNum) -> new InventoryMovementResponse(
+                        rs.getLong("id"),
+                        rs.getObject("hub_id", UUID.class),
+                        rs.getString("sku"),
+                        rs.getInt("quantity_delta"),
+                        InventoryMovementType.valueOf(rs.getString("movement_type")),
+                        rs.getString("reference"),
+                        rs.getTimestamp("occurred_at").toInstant().atZone(ZoneId.systemDefault())),
+                args.toArray());
+
+        long totalElements = total != null ? total : 0;
+        int totalPages = (int) ((totalElements + pageSize - 1) / pageSize);
+        return new PagedResponse<>(content, pageNumber, pageSize, totalElements, totalPages,
+                pageNumber + 1 < totalPages, pageNumber > 0);
+    }
+
+    /**
+     * Units received, issued and net per SKU of a hub over [from, to).
+     */
+    @Transactional(readOnly = true)
+    public List<InventoryMovementSummaryResponse> getMovementSummary(UUID hubId, ZonedDateTime from, ZonedDateTime to) {
+        List<Object> args = new ArrayList<>();
+        String where = periodFilter(hubId, null, from, to, args);
+        return jdbcTemplate.query("""
+                SELECT sku,
+                       SUM(CASE WHEN quantity_delta > 0 THEN quantity_delta ELSE 0 END) AS received,
+                       SUM(CASE WHEN quantity_delta < 0 THEN -quantity_delta ELSE 0 END) AS issued,
+                       SUM(quantity_delta) AS net,
+                       COUNT(*) AS movements
+                FROM inventory_movements
+                WHERE %s
+                GROUP BY sku
+                ORDER BY sku
+                """.formatted(where),
+                (rs, rowNum) -> new InventoryMovementSummaryResponse(rs.getString("sku"), rs.getLong("received"),
+                        rs.getLong("issued"), rs.getLong("net"), rs.getLong("movements")),
+                args.toArray());
+    }
+
+    /**
+     * Current quantities of a hub rebuilt from the ledger, compared with inventory_items.
+     * Returns only the SKUs that disagree; with {@code apply} those rows are set to the ledger value.
+     */
+    @Transactional
+    public List<InventoryStockLevelResponse> rebuildQuantities(UUID hubId, boolean apply) {
+        List<InventoryStockLevelResponse> drift = new ArrayList<>();
+        Map<String, Integer> current = new HashMap<>();
+        jdbcTemplate.query("SELECT sku, quantity FROM inventory_items WHERE hub_id = ?",
+                rs -> {
+                    current.put(rs.getString("sku"), rs.getInt("quantity"));
+                }, hubId);
+        for (InventoryStockLevelResponse level : getStockAt(hubId, null, ZonedDateTime.now())) {
+            Integer quantity = current.get(level.sku());
+            // SKUs deleted from the hub net out to zero in the ledger
+            if (quantity == null ? level.ledgerQuantity() != 0 : quantity != level.ledgerQuantity()) {
+                drift.add(new InventoryStockLevelResponse(level.sku(), level.ledgerQuantity(), quantity));
+            }
+        }
+
+        if (apply) {
+            List<Object[]> updates = new ArrayList<>();
+            for (InventoryStockLevelResponse level : drift) {
+                if (level.currentQuantity() != null && level.ledgerQuantity() >= 0) {
+                    updates.add(new Object[] { level.ledgerQuantity(), hubId, level.sku() });
+                }
+            }
+            jdbcTemplate.batchUpdate("""
+                    UPDATE inventory_items i
+                    SET quantity = v.quantity, updated_at = NOW(),
+                        status = CASE
+                            WHEN v.quantity = 0 THEN 'OUT_OF_STOCK'
+                            WHEN v.quantity < i.reorder_level THEN 'REORDER_NEEDED'
+                            WHEN v.quantity <= i.reorder_level * 1.1 THEN 'LOW_STOCK'
+                            ELSE 'IN_STOCK'
+                        END
+                    FROM (SELECT CAST(? AS INTEGER) AS quantity) v
+                    WHERE i.hub_id = ? AND i.sku = ?
+                    """, updates, BATCH_SIZE, (ps, update) -> {
+                        ps.setInt(1, (Integer) update[0]);
+                        ps.setObject(2, update[1]);
+                        ps.setString(3, (String) update[2]);
+                    });
+            inventorySearchIndex.evictHub(hubId);
+            log.info("Reset {} inventory quantities of hub {} from the ledger", updates.size(), hubId);
+        }
+        return drift;
+    }
+
+    private static String periodFilter(UUID hubId, String sku, ZonedDateTime from, ZonedDateTime to, List<Object> args) {
+        StringBuilder where = new StringBuilder("hub_id = ?");
+        args.add(hubId);
+        if (sku != null) {
+            where.append(" AND sku = ?");
+            args.add(sku);
+        }
+        if (from != null) {
+            where.append(" AND occurred_at >= ?");
+            args.add(Timestamp.from(from.toInstant()));
+        }
+        if (to != null) {
+            where.append(" AND occurred_at < ?");
+            args.add(Timestamp.from(to.toInstant()));
+        }
+        return where.toString();
+    }
+
+    private void insert(List<Movement> movements) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, movements, BATCH_SIZE, (ps, movement) -> {
+            ps.setObject(1, movement.hubId);
+            ps.setString(2, movement.sku);
+            ps.setInt(3, movement.quantityDelta);
+            ps.setString(4, movement.type.name());
+            ps.setString(5, movement.reference);
+        });
+    }
+
+    private record Movement(UUID hubId, String sku, int quantityDelta, InventoryMovementType type, String reference) {
+    }
+
+    /**
+     * Movements of one transaction, written in a single batch before it commits.
+     */
+    private final class PendingMovements implements TransactionSynchronization {
+        private final List<Movement> movements = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            insert(movements);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InventoryLedgerService.this);
+        }
+    }
+}
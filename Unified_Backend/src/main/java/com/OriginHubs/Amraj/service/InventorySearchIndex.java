@@ -0,0 +1,435 @@
+package com.OriginHubs.Amraj.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.OriginHubs.Amraj.dto.InventoryItemResponse;
+import com.OriginHubs.Amraj.dto.PagedResponse;
+import com.OriginHubs.Amraj.entity.InventoryItem;
+import com.OriginHubs.Amraj.entity.enums.InventoryStatus;
+import com.OriginHubs.Amraj.repository.InventoryItemRepository;
+
+/**
+ * Per-hub in-memory inventory search. Each hub keeps its items as immutable responses,
+ * a sorted SKU index for prefix lookups and a token index over product names and SKU
+ * segments, so searches, status filters and sorted pages are answered without touching
+ * the database. Hubs are loaded at startup (or on first use after an eviction) and kept
+ * current by the inventory write paths once their transaction commits, and passes the
+ * same writes on to the fleet-wide {@link InventoryAvailabilityMatrix}.
+ */
+@Service
+public class InventorySearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(InventorySearchIndex.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final Comparator<InventoryItemResponse> BY_SKU =
+            Comparator.comparing(item -> item.sku().toLowerCase(Locale.ROOT));
+
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventoryAvailabilityMatrix availabilityMatrix;
+    private final Map<UUID, HubIndex> hubs = new ConcurrentHashMap<>();
+    // Bumped by every committed inventory write, so derived reports can tell when they are stale
+    private final AtomicLong version = new AtomicLong();
+
+    public InventorySearchIndex(InventoryItemRepository inventoryItemRepository,
+                                InventoryAvailabilityMatrix availabilityMatrix) {
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.availabilityMatrix = availabilityMatrix;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        long started = System.currentTimeMillis();
+        List<UUID> hubIds = inventoryItemRepository.findDistinctHubIds();
+        int items = 0;
+        for (UUID hubId : hubIds) {
+            items += hubIndex(hubId).size();
+        }
+        log.info("Built inventory search index: {} items across {} hubs in {} ms",
+                items, hubIds.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Counter of committed inventory writes seen since startup.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * One page of a hub's inventory. Every whitespace-separated term of {@code query} must
+     * match the start of the SKU, of a SKU segment or of a word in the product name.
+     * Sort keys: sku (default), name, quantity, status, price, updated.
+     */
+    public PagedResponse<InventoryItemResponse> search(UUID hubId, InventoryStatus status, String query,
+                                                       String sort, String direction, Integer page, Integer size) {
+        int pageNumber = page != null && page > 0 ? page : 0;
+        int pageSize = size != null && size > 0 ? Math.min(size, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+        Comparator<InventoryItemResponse> comparator = comparator(sort, direction);
+
+        HubIndex index = hubIndex(hubId);
+        index.lock.readLock().lock();
+        try {
+            List<InventoryItemResponse> matches = index.match(status, terms(query));
+            long offset = (long) pageNumber * pageSize;
+            List<InventoryItemResponse> content;
+            if (offset >= matches.size()) {
+                content = List.of();
+            } else {
+                List<InventoryItemResponse> top = firstN(matches, comparator, (int) Math.min(offset + pageSize, matches.size()));
+                content = List.copyOf(top.subList((int) offset, top.size()));
+            }
+            int totalPages = (matches.size() + pageSize - 1) / pageSize;
+            return new PagedResponse<>(content, pageNumber, pageSize, matches.size(), totalPages,
+                    pageNumber + 1 < totalPages, pageNumber > 0);
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every matching item of a hub, ordered by SKU.
+     */
+    public List<InventoryItemResponse> findAll(UUID hubId, InventoryStatus status, String query) {
+        HubIndex index = hubIndex(hubId);
+        index.lock.readLock().lock();
+        try {
+            List<InventoryItemResponse> matches = new ArrayList<>(index.match(status, terms(query)));
+            matches.sort(BY_SKU);
+            return matches;
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Items of a hub below their reorder level, ordered by SKU.
+     */
+    public List<InventoryItemResponse> findBelowReorderLevel(UUID hubId) {
+        HubIndex index = hubIndex(hubId);
+        index.lock.readLock().lock();
+        try {
+            List<InventoryItemResponse> items = new ArrayList<>();
+            for (InventoryItemResponse item : index.items.values()) {
+                if (item.quantity() != null && item.reorderLevel() != null && item.quantity() < item.reorderLevel()) {
+                    items.add(item);
+                }
+            }
+            items.sort(BY_SKU);
+            return items;
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-index a saved item once the current transaction commits.
+     */
+    public void index(InventoryItem item) {
+        UUID hubId = item.getHub().getId();
+        // Read the hub name inside the transaction; the entity is detached by afterCommit
+        String hubName = item.getHub().getName();
+        afterCommit(() -> {
+            availabilityMatrix.put(item.getId(), hubId, hubName, item.getSku(), item.getQuantity());
+            HubIndex index = hubs.get(hubId);
+            if (index != null) {
+                index.put(new InventoryItemResponse(item.getId(), hubId, hubName, item.getSku(),
+                        item.getProductName(), item.getQuantity(), item.getReorderLevel(), item.getStatus(),
+                        item.getDescription(), item.getUnitPrice(), item.getUnit(), item.getLastRestocked(),
+                        item.getCreatedAt(), item.getUpdatedAt()));
+            }
+        });
+    }
+
+    /**
+     * Re-index rows written with plain SQL once the current transaction commits.
+     */
+    public void indexRows(List<InventoryItemResponse> rows) {
+        afterCommit(() -> {
+            for (InventoryItemResponse row : rows) {
+                availabilityMatrix.put(row.id(), row.hubId(), row.hubName(), row.sku(), row.quantity());
+                HubIndex index = hubs.get(row.hubId());
+                if (index != null) {
+                    index.put(row);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop a deleted item once the current transaction commits.
+     */
+    public void remove(UUID hubId, UUID itemId) {
+        afterCommit(() -> {
+            availabilityMatrix.remove(itemId);
+            HubIndex index = hubs.get(hubId);
+            if (index != null) {
+                index.remove(itemId);
+            }
+        });
+    }
+
+    /**
+     * Forget a hub so it is reloaded on next use, e.g. after it was renamed or deleted.
+     */
+    public void evictHub(UUID hubId) {
+        afterCommit(() -> {
+            hubs.remove(hubId);
+            availabilityMatrix.reloadHub(hubId);
+        });
+    }
+
+    /**
+     * Forget every hub, for bulk changes made with plain SQL.
+     */
+    public void evictAll() {
+        afterCommit(() -> {
+            hubs.clear();
+            availabilityMatrix.loadAll();
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable versioned = () -> {
+            action.run();
+            version.incrementAndGet();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versioned.run();
+                }
+            });
+        } else {
+            versioned.run();
+        }
+    }
+
+    private HubIndex hubIndex(UUID hubId) {
+        HubIndex index = hubs.computeIfAbsent(hubId, id -> new HubIndex());
+        if (!index.loaded) {
+            synchronized (index) {
+                if (!index.loaded) {
+                    // Writes committing while the rows are read are recorded by the index and win over them
+                    index.load(inventoryItemRepository.findResponsesByHubId(hubId));
+                }
+            }
+        }
+        return index;
+    }
+
+    private static List<String> terms(String query) {
+        return query == null ? List.of() : tokenize(query);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Comparator<InventoryItemResponse> comparator(String sort, String direction) {
+        Comparator<InventoryItemResponse> comparator = switch (sort == null ? "sku" : sort.toLowerCase(Locale.ROOT)) {
+            case "name", "productname" -> Comparator.comparing(
+                    (InventoryItemResponse item) -> item.productName().toLowerCase(Locale.ROOT));
+            case "quantity" -> Comparator.comparing(InventoryItemResponse::quantity,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            case "status" -> Comparator.comparing(InventoryItemResponse::status,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            case "price", "unitprice" -> Comparator.comparing(InventoryItemResponse::unitPrice,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            case "updated", "updatedat" -> Comparator.comparing(InventoryItemResponse::updatedAt,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+            default -> BY_SKU;
+        };
+        if ("desc".equalsIgnoreCase(direction)) {
+            comparator = comparator.reversed();
+        }
+        // SKUs are unique per hub, which keeps pages stable
+        return comparator == BY_SKU ? comparator : comparator.thenComparing(BY_SKU);
+    }
+
+    /**
+     * The first {@code n} items in comparator order. Early pages of large result sets only
+     * pay for a bounded heap instead of a full sort.
+     */
+    private static List<InventoryItemResponse> firstN(List<InventoryItemResponse> items,
+                                                      Comparator<InventoryItemResponse> comparator, int n) {
+        if (n * 4L >= items.size()) {
+            List<InventoryItemResponse> sorted = new ArrayList<>(items);
+            sorted.sort(comparator);
+            return sorted.subList(0, n);
+        }
+        PriorityQueue<InventoryItemResponse> heap = new PriorityQueue<>(n + 1, comparator.reversed());
+        for (InventoryItemResponse item : items) {
+            if (heap.size() < n) {
+                heap.add(item);
+            } else if (comparator.compare(item, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(item);
+            }
+        }
+        List<InventoryItemResponse> top = new ArrayList<>(heap);
+        top.sort(comparator);
+        return top;
+    }
+
+    private static final class HubIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<UUID, InventoryItemResponse> items = new HashMap<>();
+        // Lower-cased SKU -> item; a range scan over the sorted keys is a prefix lookup
+        private final NavigableMap<String, UUID> bySku = new TreeMap<>();
+        // Name words and SKU segments -> items containing them
+        private final NavigableMap<String, Set<UUID>> byToken = new TreeMap<>();
+        // Items written before the initial load finished; their committed state beats the loaded rows
+        private Set<UUID> writtenDuringLoad = new HashSet<>();
+        private volatile boolean loaded;
+
+        private int size() {
+            lock.readLock().lock();
+            try {
+                return items.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void load(List<InventoryItemResponse> rows) {
+            lock.writeLock().lock();
+            try {
+                for (InventoryItemResponse row : rows) {
+                    if (!writtenDuringLoad.contains(row.id())) {
+                        add(row);
+                    }
+                }
+                writtenDuringLoad = null;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void put(InventoryItemResponse item) {
+            lock.writeLock().lock();
+            try {
+                markWritten(item.id());
+                unlink(items.get(item.id()));
+                add(item);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(UUID itemId) {
+            lock.writeLock().lock();
+            try {
+                markWritten(itemId);
+                unlink(items.get(itemId));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void markWritten(UUID itemId) {
+            if (writtenDuringLoad != null) {
+                writtenDuringLoad.add(itemId);
+            }
+        }
+
+        private void add(InventoryItemResponse item) {
+            items.put(item.id(), item);
+            bySku.put(item.sku().toLowerCase(Locale.ROOT), item.id());
+            for (String token : tokensOf(item)) {
+                byToken.computeIfAbsent(token, t -> new HashSet<>()).add(item.id());
+            }
+        }
+
+        private void unlink(InventoryItemResponse item) {
+            if (item == null) {
+                return;
+            }
+            items.remove(item.id());
+            bySku.remove(item.sku().toLowerCase(Locale.ROOT), item.id());
+            for (String token : tokensOf(item)) {
+                Set<UUID> ids = byToken.get(token);
+                if (ids != null && ids.remove(item.id()) && ids.isEmpty()) {
+                    byToken.remove(token);
+                }
+            }
+        }
+
+        private static Set<String> tokensOf(InventoryItemResponse item) {
+            Set<String> tokens = new HashSet<>(tokenize(item.productName()));
+            tokens.addAll(tokenize(item.sku()));
+            return tokens;
+        }
+
+        /**
+         * Matching items in no particular order. Caller holds the read lock.
+         */
+        private List<InventoryItemResponse> match(InventoryStatus status, List<String> terms) {
+            Set<UUID> candidates = null;
+            for (String term : terms) {
+                Set<UUID> termMatches = new HashSet<>(bySku.subMap(term, true, term + Character.MAX_VALUE, false).values());
+                for (Set<UUID> ids : byToken.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                    termMatches.addAll(ids);
+                }
+                if (candidates == null) {
+                    candidates = termMatches;
+                } else {
+                    candidates.retainAll(termMatches);
+                }
+                if (candidates.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            List<InventoryItemResponse> matches = new ArrayList<>();
+            if (candidates == null) {
+                for (InventoryItemResponse item : items.values()) {
+                    if (status == null || status == item.status()) {
+                        matches.add(item);
+                    }
+                }
+            } else {
+                for (UUID id : candidates) {
+                    InventoryItemResponse item = items.get(id);
+                    if (item != null && (status == null || status == item.status())) {
+                        matches.add(item);
+                    }
+                }
+            }
+            return matches;
+        }
+    }
+}
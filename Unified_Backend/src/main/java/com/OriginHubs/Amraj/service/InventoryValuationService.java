@@ -0,0 +1,337 @@
+package com.OriginHubs.Amraj.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.OriginHubs.Amraj.dto.HubValuationResponse;
+import com.OriginHubs.Amraj.dto.InventoryValuationResponse;
+
+/**
+ * Stock valuation (quantity x unit price) per hub and across the fleet, with low-stock
+ * and dead-stock breakdowns. Each hub's rows are streamed from inventory_items into
+ * primitive accumulators on its own fork-join task, and the hub totals are merged into
+ * the fleet total. The report is cached against {@link InventorySearchIndex#version()},
+ * which every committed inventory write bumps, and is rebuilt only once that moves (or
+ * the day changes, since dead stock is judged against today's date).
+ */
+@Service
+public class InventoryValuationService {
+
+    private static final int FETCH_SIZE = 2000;
+    private static final DateTimeFormatter REPORT_TIME = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private static final String HUBS_SQL = """
+        SELECT h.id, h.code, h.name
+        FROM hubs h
+        WHERE EXISTS (SELECT 1 FROM inventory_items i WHERE i.hub_id = h.id)
+        ORDER BY h.name
+    """;
+
+    private static final String ITEMS_SQL = """
+        SELECT quantity, reorder_level, unit_price, updated_at
+        FROM inventory_items
+        WHERE hub_id = ?
+    """;
+
+    private static final String[] CSV_HEADERS = {
+            "hub_code", "hub_name", "items", "units", "value", "low_stock_items", "low_stock_value",
+            "out_of_stock_items", "dead_stock_items", "dead_stock_units", "dead_stock_value", "unpriced_items"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final InventorySearchIndex inventorySearchIndex;
+    private final Object reportLock = new Object();
+    private volatile CachedReport cached;
+
+    // Items in stock but untouched for this many days count as dead stock
+    @Value("${app.inventory-valuation.dead-stock-days:90}")
+    private int deadStockDays;
+
+    // Hubs valued at once; each holds a connection while its rows stream
+    @Value("${app.inventory-valuation.parallelism:4}")
+    private int parallelism;
+
+    public InventoryValuationService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     InventorySearchIndex inventorySearchIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.inventorySearchIndex = inventorySearchIndex;
+    }
+
+    public InventoryValuationResponse getValuation() {
+        CachedReport report = cached;
+        long version = inventorySearchIndex.version();
+        LocalDate today = LocalDate.now();
+        if (report != null && report.version == version && report.day.equals(today)) {
+            return report.response;
+        }
+        synchronized (reportLock) {
+            report = cached;
+            version = inventorySearchIndex.version();
+            if (report == null || report.version != version || !report.day.equals(today)) {
+                // Read the version first: a write landing mid-build leaves the cache one version behind, never ahead
+                report = new CachedReport(version, today, build(version, today));
+                cached = report;
+            }
+            return report.response;
+        }
+    }
+
+    public byte[] renderCsv() {
+        InventoryValuationResponse valuation = getValuation();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8),
+                CSVFormat.DEFAULT.builder().setHeader(CSV_HEADERS).build())) {
+            for (HubValuationResponse hub : valuation.hubs()) {
+                printRow(printer, hub);
+            }
+            printRow(printer, valuation.total());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public byte[] renderPdf() {
+        InventoryValuationResponse valuation = getValuation();
+        try (PDDocument document = new PDDocument()) {
+            PdfWriter writer = new PdfWriter(document);
+            writer.line(PDType1Font.HELVETICA_BOLD, 16, "Inventory Valuation");
+            writer.line(PDType1Font.HELVETICA, 10, "Generated " + valuation.generatedAt().format(REPORT_TIME)
+                    + " - dead stock: untouched for " + valuation.deadStockDays() + "+ days");
+            writer.gap();
+            writer.line(PDType1Font.HELVETICA_BOLD, 12, "All hubs");
+            writer.hubDetails(valuation.total());
+            for (HubValuationResponse hub : valuation.hubs()) {
+                writer.gap();
+                writer.line(PDType1Font.HELVETICA_BOLD, 12, hub.hubName() + (hub.hubCode() != null ? " (" + hub.hubCode() + ")" : ""));
+                writer.hubDetails(hub);
+            }
+            writer.close();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private InventoryValuationResponse build(long version, LocalDate today) {
+        long started = System.currentTimeMillis();
+        Timestamp deadStockCutoff = Timestamp.valueOf(today.minusDays(deadStockDays).atStartOfDay());
+        List<HubRef> hubs = jdbcTemplate.query(HUBS_SQL, (rs, rowNum) ->
+                new HubRef(rs.getObject("id", UUID.class), rs.getString("code"), rs.getString("name")));
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        List<Accumulator> perHub = new ArrayList<>(hubs.size());
+        try {
+            List<ForkJoinTask<Accumulator>> tasks = new ArrayList<>(hubs.size());
+            for (HubRef hub : hubs) {
+                tasks.add(pool.submit(() -> valueHub(hub, deadStockCutoff)));
+            }
+            for (ForkJoinTask<Accumulator> task : tasks) {
+                perHub.add(task.join());
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Accumulator total = new Accumulator(new HubRef(null, null, "All hubs"));
+        for (Accumulator hub : perHub) {
+            total.merge(hub);
+        }
+        List<HubValuationResponse> hubResponses = new ArrayList<>(perHub.size());
+        for (Accumulator hub : perHub) {
+            hubResponses.add(hub.toResponse());
+        }
+        hubResponses.sort(Comparator.comparingDouble(HubValuationResponse::totalValue).reversed());
+        return new InventoryValuationResponse(version, ZonedDateTime.now(), deadStockDays,
+                System.currentTimeMillis() - started, total.toResponse(), hubResponses);
+    }
+
+    private Accumulator valueHub(HubRef hub, Timestamp deadStockCutoff) {
+        Accumulator accumulator = new Accumulator(hub);
+        readOnlyTransaction.executeWithoutResult(status -> streamingJdbcTemplate.query(ITEMS_SQL, rs -> {
+            int quantity = rs.getInt(1);
+            int reorderLevel = rs.getInt(2);
+            double unitPrice = rs.getDouble(3);
+            boolean priced = !rs.wasNull();
+            Timestamp updatedAt = rs.getTimestamp(4);
+            boolean dead = quantity > 0 && updatedAt != null && updatedAt.before(deadStockCutoff);
+            accumulator.add(quantity, reorderLevel, priced ? unitPrice : 0, priced, dead);
+        }, hub.id));
+        return accumulator;
+    }
+
+    private static void printRow(CSVPrinter printer, HubValuationResponse hub) throws IOException {
+        printer.printRecord(hub.hubCode(), hub.hubName(), hub.itemCount(), hub.totalUnits(), money(hub.totalValue()),
+                hub.lowStockItems(), money(hub.lowStockValue()), hub.outOfStockItems(), hub.deadStockItems(),
+                hub.deadStockUnits(), money(hub.deadStockValue()), hub.unpricedItems());
+    }
+
+    private static String money(double value) {
+        return String.format("%.2f", value);
+    }
+
+    private record HubRef(UUID id, String code, String name) {
+    }
+
+    private record CachedReport(long version, LocalDate day, InventoryValuationResponse response) {
+    }
+
+    /**
+     * Running totals for one hub, kept in primitives so a hub of any size costs a few
+     * dozen bytes while it streams.
+     */
+    private static final class Accumulator {
+        private final HubRef hub;
+        private long items;
+        private long units;
+        private double value;
+        private long lowStockItems;
+        private double lowStockValue;
+        private long outOfStockItems;
+        private long deadStockItems;
+        private long deadStockUnits;
+        private double deadStockValue;
+        private long unpricedItems;
+
+        private Accumulator(HubRef hub) {
+            this.hub = hub;
+        }
+
+        private void add(int quantity, int reorderLevel, double unitPrice, boolean priced, boolean dead) {
+            double itemValue = quantity * unitPrice;
+            items++;
+            units += quantity;
+            value += itemValue;
+            if (!priced) {
+                unpricedItems++;
+            }
+            if (quantity == 0) {
+                outOfStockItems++;
+            }
+            if (LowStockAlertService.isLow(quantity, reorderLevel)) {
+                lowStockItems++;
+                lowStockValue += itemValue;
+            }
+            if (dead) {
+                deadStockItems++;
+                deadStockUnits += quantity;
+                deadStockValue += itemValue;
+            }
+        }
+
+        private void merge(Accumulator other) {
+            items += other.items;
+            units += other.units;
+            value += other.value;
+            lowStockItems += other.lowStockItems;
+            lowStockValue += other.lowStockValue;
+            outOfStockItems += other.outOfStockItems;
+            deadStockItems += other.deadStockItems;
+            deadStockUnits += other.deadStockUnits;
+            deadStockValue += other.deadStockValue;
+            unpricedItems += other.unpricedItems;
+        }
+
+        private HubValuationResponse toResponse() {
+            return new HubValuationResponse(hub.id, hub.code, hub.name, items, units, round(value),
+                    lowStockItems, round(lowStockValue), outOfStockItems, deadStockItems, deadStockUnits,
+                    round(deadStockValue), unpricedItems);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+    }
+
+    /**
+     * Writes lines top to bottom, starting a new page when the current one is full.
+     */
+    private static final class PdfWriter {
+        private static final float MARGIN = 50;
+        private final PDDocument document;
+        private PDPageContentStream stream;
+        private float y;
+
+        private PdfWriter(PDDocument document) throws IOException {
+            this.document = document;
+            newPage();
+        }
+
+        private void hubDetails(HubValuationResponse hub) throws IOException {
+            line(PDType1Font.HELVETICA, 10, "Items: " + hub.itemCount() + "   Units: " + hub.totalUnits()
+                    + "   Value: Rs. " + money(hub.totalValue()));
+            line(PDType1Font.HELVETICA, 10, "Low stock: " + hub.lowStockItems() + " items, Rs. " + money(hub.lowStockValue())
+                    + "   Out of stock: " + hub.outOfStockItems() + " items");
+            line(PDType1Font.HELVETICA, 10, "Dead stock: " + hub.deadStockItems() + " items, " + hub.deadStockUnits()
+                    + " units, Rs. " + money(hub.deadStockValue()) + "   Unpriced: " + hub.unpricedItems() + " items");
+        }
+
+        private void line(PDType1Font font, float size, String text) throws IOException {
+            float height = size + 6;
+            if (y - height < MARGIN) {
+                newPage();
+            }
+            y -= height;
+            stream.beginText();
+            stream.setFont(font, size);
+            stream.newLineAtOffset(MARGIN, y);
+            // The standard 14 fonts only cover WinAnsi; hub and product names may not
+            stream.showText(text.replaceAll("[^\\x20-\\x7E]", "?"));
+            stream.endText();
+        }
+
+        private void gap() {
+            y -= 8;
+        }
+
+        private void newPage() throws IOException {
+            close();
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+            stream = new PDPageContentStream(document, page);
+            y = page.getMediaBox().getHeight() - MARGIN;
+        }
+
+        private void close() throws IOException {
+            if (stream != null) {
+                stream.close();
+                stream = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.OriginHubs.Amraj.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.OriginHubs.Amraj.model.SystemAlert;
+
+/**
+ * Raises low-stock alerts from the inventory write paths instead of polling. A write
+ * that takes an item below its reorder level (or to zero) is queued for its hub once
+ * the transaction commits; the first queued item starts a short window, and everything
+ * queued for the hub by the end of it goes out as one SystemAlert. An item is alerted
+ * once per dip: it can alert again only after it has been restocked above its level.
+ */
+@Service
+public class LowStockAlertService {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockAlertService.class);
+    private static final int MAX_ALERT_LINES = 20;
+
+    private final AlertService alertService;
+    private final TaskScheduler taskScheduler;
+
+    // Items waiting for their hub's window to close, by hub then SKU
+    private final Map<UUID, PendingHub> pendingByHub = new ConcurrentHashMap<>();
+    // Items already alerted and not yet restocked, per hub
+    private final Map<UUID, Set<String>> alertedByHub = new ConcurrentHashMap<>();
+
+    @Value("${app.low-stock-alerts.window-ms:30000}")
+    private long windowMs;
+
+    public LowStockAlertService(AlertService alertService, TaskScheduler taskScheduler) {
+        this.alertService = alertService;
+        this.taskScheduler = taskScheduler;
+    }
+
+    public static boolean isLow(int quantity, int reorderLevel) {
+        return quantity == 0 || quantity < reorderLevel;
+    }
+
+    /**
+     * Note a quantity change. Only crossings count: dropping into low stock queues an alert,
+     * climbing out of it re-arms the item.
+     */
+    public void onQuantityChanged(UUID hubId, String hubName, String sku, String productName,
+                                  int before, int after, int reorderLevel) {
+        onQuantityChanged(hubId, hubName, sku, productName, before, reorderLevel, after, reorderLevel);
+    }
+
+    /**
+     * Note a change of quantity and reorder level. The old state is judged against the old
+     * level, so raising the level above the stock on hand is a crossing too.
+     */
+    public void onQuantityChanged(UUID hubId, String hubName, String sku, String productName,
+                                  int before, int reorderLevelBefore, int after, int reorderLevel) {
+        onChange(hubId, hubName, sku, productName, isLow(before, reorderLevelBefore), after, reorderLevel);
+    }
+
+    /**
+     * Note a new item. It counts as not low before, so an item created below its level alerts.
+     */
+    public void onItemCreated(UUID hubId, String hubName, String sku, String productName, int quantity, int reorderLevel) {
+        onChange(hubId, hubName, sku, productName, false, quantity, reorderLevel);
+    }
+
+    private void onChange(UUID hubId, String hubName, String sku, String productName,
+                          boolean wasLow, int after, int reorderLevel) {
+        boolean nowLow = isLow(after, reorderLevel);
+        if (wasLow == nowLow) {
+            return;
+        }
+        LowStockItem item = new LowStockItem(sku, productName, after, reorderLevel);
+        Runnable apply = nowLow ? () -> queue(hubId, hubName, item) : () -> rearm(hubId, sku);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private void queue(UUID hubId, String hubName, LowStockItem item) {
+        Set<String> alerted = alertedByHub.computeIfAbsent(hubId, id -> ConcurrentHashMap.newKeySet());
+        if (!alerted.add(item.sku)) {
+            return;
+        }
+        boolean opened = false;
+        PendingHub pending;
+        synchronized (pendingByHub) {
+            pending = pendingByHub.get(hubId);
+            if (pending == null) {
+                pending = new PendingHub(hubName);
+                pendingByHub.put(hubId, pending);
+                opened = true;
+            }
+            pending.items.put(item.sku, item);
+        }
+        if (opened) {
+            taskScheduler.schedule(() -> flush(hubId), Instant.now().plus(Duration.ofMillis(windowMs)));
+        }
+    }
+
+    private void rearm(UUID hubId, String sku) {
+        Set<String> alerted = alertedByHub.get(hubId);
+        if (alerted != null) {
+            alerted.remove(sku);
+        }
+        synchronized (pendingByHub) {
+            PendingHub pending = pendingByHub.get(hubId);
+            if (pending != null) {
+                pending.items.remove(sku);
+            }
+        }
+    }
+
+    private void flush(UUID hubId) {
+        PendingHub pending;
+        synchronized (pendingByHub) {
+            pending = pendingByHub.remove(hubId);
+        }
+        if (pending == null || pending.items.isEmpty()) {
+            return;
+        }
+
+        List<String> lines = new ArrayList<>();
+        boolean outOfStock = false;
+        for (LowStockItem item : pending.items.values()) {
+            outOfStock |= item.quantity == 0;
+            if (lines.size() < MAX_ALERT_LINES) {
+                lines.add(item.productName + " (" + item.sku + ") - "
+                        + (item.quantity == 0 ? "out of stock" : item.quantity + " left, reorder level " + item.reorderLevel));
+            }
+        }
+        StringBuilder message = new StringBuilder(String.join("\n", lines));
+        if (pending.items.size() > MAX_ALERT_LINES) {
+            message.append("\n...and ").append(pending.items.size() - MAX_ALERT_LINES).append(" more");
+        }
+
+        SystemAlert alert = new SystemAlert();
+        alert.setTitle("Low stock at " + pending.hubName + ": " + pending.items.size() + " items");
+        alert.setMessage(message.toString());
+        alert.setSeverity(outOfStock ? "CRITICAL" : "WARNING");
+        alert.setType("LOW_STOCK");
+        try {
+            alertService.createAlert(alert);
+        } catch (RuntimeException e) {
+            log.error("Failed to raise low-stock alert for hub {}", hubId, e);
+            // Let the items alert again on their next crossing
+            Set<String> alerted = alertedByHub.get(hubId);
+            if (alerted != null) {
+                alerted.removeAll(pending.items.keySet());
+            }
+        }
+    }
+
+    private static final class PendingHub {
+        private final String hubName;
+        private final Map<String, LowStockItem> items = new LinkedHashMap<>();
+
+        private PendingHub(String hubName) {
+            this.hubName = hubName;
+        }
+    }
+
+    private record LowStockItem(String sku, String productName, int quantity, int reorderLevel) {
+    }
+}
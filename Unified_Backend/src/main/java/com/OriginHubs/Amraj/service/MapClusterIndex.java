@@ -0,0 +1,117 @@
+package com.OriginHubs.Amraj.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.OriginHubs.Amraj.dto.MapClusterResponse;
+import com.OriginHubs.Amraj.dto.MapMarkerResponse;
+import com.OriginHubs.Amraj.util.MarkerGrid;
+
+/**
+ * Clustered map markers for hubs and active orders. All coordinates are loaded into a
+ * {@link MarkerGrid} on a fixed delay, so a map request only reads the precomputed cells
+ * under its viewport and the payload is bounded by the screen size, not the fleet size.
+ */
+@Service
+public class MapClusterIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MapClusterIndex.class);
+    private static final int HUB = 0;
+    private static final int ORDER = 1;
+    private static final int KINDS = 2;
+    private static final int MAX_ZOOM = 22;
+    // Cluster cells are a quarter of a 256px map tile, about 64px on screen
+    private static final int CELLS_PER_TILE_LEVELS = 2;
+
+    private static final String POINTS_SQL = """
+        SELECT 0 AS kind, CAST(id AS VARCHAR) AS id, latitude, longitude
+        FROM hubs
+        WHERE latitude IS NOT NULL AND longitude IS NOT NULL
+        UNION ALL
+        SELECT 1, CAST(id AS VARCHAR), delivery_latitude, delivery_longitude
+        FROM orders
+        WHERE delivery_latitude IS NOT NULL AND delivery_longitude IS NOT NULL
+          AND LOWER(status) NOT IN ('delivered', 'cancelled', 'refunded')
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Snapshot snapshot = new Snapshot(
+            MarkerGrid.build(new double[0], new double[0], new int[0], KINDS), new String[0], null);
+
+    public MapClusterIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.map-clusters.refresh-ms:30000}", initialDelayString = "${app.map-clusters.refresh-ms:30000}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        List<String> ids = new ArrayList<>();
+        List<double[]> coordinates = new ArrayList<>();
+        List<Integer> kinds = new ArrayList<>();
+        jdbcTemplate.query(POINTS_SQL, rs -> {
+            double latitude = rs.getDouble("latitude");
+            double longitude = rs.getDouble("longitude");
+            if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+                return;
+            }
+            kinds.add(rs.getInt("kind"));
+            ids.add(rs.getString("id"));
+            coordinates.add(new double[] {latitude, longitude});
+        });
+        int n = ids.size();
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        int[] kindArray = new int[n];
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = coordinates.get(i)[0];
+            longitudes[i] = coordinates.get(i)[1];
+            kindArray[i] = kinds.get(i);
+        }
+        snapshot = new Snapshot(MarkerGrid.build(latitudes, longitudes, kindArray, KINDS),
+                ids.toArray(new String[0]), LocalDateTime.now());
+        log.debug("Rebuilt map cluster grid with {} markers in {} ms", n, System.currentTimeMillis() - started);
+    }
+
+    public MapClusterResponse clusters(double south, double west, double north, double east, int zoom) {
+        if (Math.abs(south) > 90 || Math.abs(north) > 90 || Math.abs(west) > 180 || Math.abs(east) > 180) {
+            throw new IllegalArgumentException("Bounding box out of range");
+        }
+        if (south > north) {
+            throw new IllegalArgumentException("South edge must not be north of the north edge");
+        }
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new IllegalArgumentException("Zoom must be between 0 and " + MAX_ZOOM);
+        }
+        Snapshot current = snapshot;
+        int level = Math.min(MarkerGrid.MAX_LEVEL, zoom + CELLS_PER_TILE_LEVELS);
+        List<MarkerGrid.Cluster> cells = current.grid.query(south, west, north, east, level);
+
+        List<MapMarkerResponse> markers = new ArrayList<>(cells.size());
+        int hubs = 0;
+        int orders = 0;
+        for (MarkerGrid.Cluster cell : cells) {
+            int hubCount = cell.counts()[HUB];
+            int orderCount = cell.counts()[ORDER];
+            hubs += hubCount;
+            orders += orderCount;
+            String type = cell.point() < 0 ? "CLUSTER" : hubCount > 0 ? "HUB" : "ORDER";
+            String id = cell.point() < 0 ? null : current.ids[cell.point()];
+            markers.add(new MapMarkerResponse(type, id, cell.latitude(), cell.longitude(),
+                    cell.total(), hubCount, orderCount));
+        }
+        return new MapClusterResponse(zoom, hubs, orders, current.builtAt, markers);
+    }
+
+    private record Snapshot(MarkerGrid grid, String[] ids, LocalDateTime builtAt) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.OriginHubs.Amraj.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.OriginHubs.Amraj.dto.NearestHubResponse;
+import com.OriginHubs.Amraj.util.GeoKdTree;
+
+/**
+ * Nearest active hubs to a coordinate, answered from an immutable k-d tree over the
+ * hubs' latitude/longitude. The tree is rebuilt whenever HubService commits a change;
+ * hubs without coordinates are left out.
+ */
+@Service
+public class NearestHubIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NearestHubIndex.class);
+    private static final int MAX_LIMIT = 50;
+
+    private static final String ACTIVE_HUBS_SQL = """
+        SELECT id, code, name, city, latitude, longitude
+        FROM hubs
+        WHERE status = 'ACTIVE' AND latitude IS NOT NULL AND longitude IS NOT NULL
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile GeoKdTree<NearestHubResponse> tree = GeoKdTree.build(List.of(), new double[0], new double[0]);
+
+    public NearestHubIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<NearestHubResponse> hubs = jdbcTemplate.query(ACTIVE_HUBS_SQL, (rs, rowNum) -> new NearestHubResponse(
+                rs.getObject("id", UUID.class),
+                rs.getString("code"),
+                rs.getString("name"),
+                rs.getString("city"),
+                rs.getDouble("latitude"),
+                rs.getDouble("longitude"),
+                0));
+        List<NearestHubResponse> valid = new ArrayList<>(hubs.size());
+        for (NearestHubResponse hub : hubs) {
+            if (Math.abs(hub.latitude()) <= 90 && Math.abs(hub.longitude()) <= 180) {
+                valid.add(hub);
+            }
+        }
+        double[] latitudes = new double[valid.size()];
+        double[] longitudes = new double[valid.size()];
+        for (int i = 0; i < valid.size(); i++) {
+            latitudes[i] = valid.get(i).latitude();
+            longitudes[i] = valid.get(i).longitude();
+        }
+        tree = GeoKdTree.build(valid, latitudes, longitudes);
+        log.debug("Rebuilt nearest-hub index with {} active hubs", valid.size());
+    }
+
+    /**
+     * Rebuild once the current transaction commits, so the tree never shows uncommitted hubs.
+     */
+    public void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Up to {@code limit} active hubs closest to the coordinate, nearest first.
+     */
+    public List<NearestHubResponse> nearest(double latitude, double longitude, int limit) {
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        List<GeoKdTree.Neighbor<NearestHubResponse>> neighbors =
+                tree.nearest(latitude, longitude, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        List<NearestHubResponse> result = new ArrayList<>(neighbors.size());
+        for (GeoKdTree.Neighbor<NearestHubResponse> neighbor : neighbors) {
+            NearestHubResponse hub = neighbor.item();
+            result.add(new NearestHubResponse(hub.hubId(), hub.code(), hub.name(), hub.city(),
+                    hub.latitude(), hub.longitude(), Math.round(neighbor.distanceKm() * 1000) / 1000.0));
+        }
+        return result;
+    }
+
+    /**
+     * The closest active hub, or null when no active hub has coordinates.
+     */
+    public NearestHubResponse nearestOne(double latitude, double longitude) {
+        List<NearestHubResponse> nearest = nearest(latitude, longitude, 1);
+        return nearest.isEmpty() ? null : nearest.get(0);
+    }
+}
@@ -0,0 +1,330 @@
+package com.OriginHubs.Amraj.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.OriginHubs.Amraj.entity.Hub;
+import com.OriginHubs.Amraj.model.Product;
+import com.OriginHubs.Amraj.repository.HubRepository;
+import com.OriginHubs.Amraj.repository.ProductHubVisibilityRepository;
+import com.OriginHubs.Amraj.repository.ProductRepository;
+
+/**
+ * In-memory availability bitmaps built from product_hub_visibility. Product ids are
+ * dense identity values, so each hub keeps a BitSet of the product ids it has in stock
+ * and each product keeps a BitSet of hub ordinals carrying it. Hub catalogs, category
+ * filters and availability checks are answered with bitwise operations.
+ */
+@Service
+public class ProductAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductAvailabilityIndex.class);
+
+    private final ProductRepository productRepository;
+    private final ProductHubVisibilityRepository productHubVisibilityRepository;
+    private final HubRepository hubRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> hubOrdinals = new HashMap<>();
+    private final List<UUID> hubsByOrdinal = new ArrayList<>();
+    // Ordinals of hubs that exist in the hubs table, which is every hub a universal product is at
+    private final BitSet existingHubs = new BitSet();
+    private final Map<Integer, BitSet> productsByHub = new HashMap<>();
+    private final Map<Integer, BitSet> hubsByProduct = new HashMap<>();
+    private final Map<String, BitSet> productsByCategory = new HashMap<>();
+    private final Map<Integer, String> categoryByProduct = new HashMap<>();
+    // Products visible to "ALL" hubs (no per-hub rows) that have stock
+    private final BitSet universalProducts = new BitSet();
+    private final BitSet activeProducts = new BitSet();
+
+    public ProductAvailabilityIndex(ProductRepository productRepository,
+                                    ProductHubVisibilityRepository productHubVisibilityRepository,
+                                    HubRepository hubRepository) {
+        this.productRepository = productRepository;
+        this.productHubVisibilityRepository = productHubVisibilityRepository;
+        this.hubRepository = hubRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        List<Product> products = productRepository.findAll();
+        List<Object[]> rows = productHubVisibilityRepository.sumStockByProductAndHub();
+        List<Hub> hubs = hubRepository.findAll();
+
+        lock.writeLock().lock();
+        try {
+            existingHubs.clear();
+            for (Hub hub : hubs) {
+                existingHubs.set(ordinal(hub.getId()));
+            }
+            productsByHub.clear();
+            hubsByProduct.clear();
+            productsByCategory.clear();
+            categoryByProduct.clear();
+            universalProducts.clear();
+            activeProducts.clear();
+            for (Object[] row : rows) {
+                applyRow(row);
+            }
+            for (Product product : products) {
+                applyProduct(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built product availability index: {} products, {} hubs in {} ms",
+                products.size(), hubsByOrdinal.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Reload the hub rows and catalog attributes of the given products once the current
+     * transaction commits, so readers never see uncommitted or rolled-back writes.
+     */
+    public void refreshProducts(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(productIds);
+        afterCommit(() -> reloadProducts(ids));
+    }
+
+    /**
+     * Count a created hub among the hubs carrying universal products once it commits.
+     */
+    public void addHub(UUID hubId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                existingHubs.set(ordinal(hubId));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Stop listing a deleted hub once the delete commits.
+     */
+    public void removeHub(UUID hubId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = hubOrdinals.get(hubId);
+                if (ordinal != null) {
+                    existingHubs.clear(ordinal);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void reloadProducts(Collection<Long> productIds) {
+        List<Product> products = productRepository.findAllById(productIds);
+        List<Object[]> rows = productHubVisibilityRepository.findStockRowsByProductIds(productIds);
+
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                removeProduct(toBit(productId));
+            }
+            for (Object[] row : rows) {
+                applyRow(row);
+            }
+            for (Product product : products) {
+                applyProduct(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Active products in stock at the hub, optionally narrowed to a category.
+     */
+    public List<Long> getProductsAtHub(UUID hubId, String category) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) universalProducts.clone();
+            Integer ordinal = hubOrdinals.get(hubId);
+            if (ordinal != null && productsByHub.containsKey(ordinal)) {
+                result.or(productsByHub.get(ordinal));
+            }
+            result.and(activeProducts);
+            if (category != null && !category.isBlank()) {
+                BitSet inCategory = productsByCategory.get(category.trim().toLowerCase());
+                if (inCategory == null) {
+                    return List.of();
+                }
+                result.and(inCategory);
+            }
+            return toIds(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hubs that carry the product in stock. Products visible to all hubs return every hub.
+     */
+    public List<UUID> getHubsCarrying(Long productId) {
+        lock.readLock().lock();
+        try {
+            int bit = toBit(productId);
+            List<UUID> hubs = new ArrayList<>();
+            if (universalProducts.get(bit)) {
+                for (int i = existingHubs.nextSetBit(0); i >= 0; i = existingHubs.nextSetBit(i + 1)) {
+                    hubs.add(hubsByOrdinal.get(i));
+                }
+                return hubs;
+            }
+            BitSet ordinals = hubsByProduct.get(bit);
+            if (ordinals != null) {
+                // Deleted hubs keep their ordinal and stale bits until the product is reloaded
+                BitSet carrying = (BitSet) ordinals.clone();
+                carrying.and(existingHubs);
+                for (int i = carrying.nextSetBit(0); i >= 0; i = carrying.nextSetBit(i + 1)) {
+                    hubs.add(hubsByOrdinal.get(i));
+                }
+            }
+            return hubs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isAvailableAt(Long productId, UUID hubId) {
+        lock.readLock().lock();
+        try {
+            int bit = toBit(productId);
+            if (universalProducts.get(bit)) {
+                return true;
+            }
+            Integer ordinal = hubOrdinals.get(hubId);
+            BitSet ordinals = hubsByProduct.get(bit);
+            return ordinal != null && ordinals != null && ordinals.get(ordinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isActive(Long productId) {
+        lock.readLock().lock();
+        try {
+            return activeProducts.get(toBit(productId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased category of the product, or null when unknown.
+     */
+    public String getCategory(Long productId) {
+        lock.readLock().lock();
+        try {
+            return categoryByProduct.get(toBit(productId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyRow(Object[] row) {
+        int productBit = toBit(((Number) row[0]).longValue());
+        UUID hubId = row[1] instanceof UUID uuid ? uuid : UUID.fromString(row[1].toString());
+        int stock = row[2] != null ? ((Number) row[2]).intValue() : 0;
+
+        int ordinal = ordinal(hubId);
+        // Rows with no stock still mark the product as hub-scoped, just not available there
+        BitSet ordinals = hubsByProduct.computeIfAbsent(productBit, k -> new BitSet());
+        if (stock > 0) {
+            ordinals.set(ordinal);
+            productsByHub.computeIfAbsent(ordinal, k -> new BitSet()).set(productBit);
+        }
+    }
+
+    /**
+     * Caller holds the write lock.
+     */
+    private int ordinal(UUID hubId) {
+        return hubOrdinals.computeIfAbsent(hubId, id -> {
+            hubsByOrdinal.add(id);
+            return hubsByOrdinal.size() - 1;
+        });
+    }
+
+    private void applyProduct(Product product) {
+        int bit = toBit(product.getId());
+        if ("ACTIVE".equals(product.getStatus())) {
+            activeProducts.set(bit);
+        }
+        if (product.getCategory() != null) {
+            String category = product.getCategory().trim().toLowerCase();
+            productsByCategory.computeIfAbsent(category, k -> new BitSet()).set(bit);
+            categoryByProduct.put(bit, category);
+        }
+        boolean hasHubRows = hubsByProduct.containsKey(bit);
+        if (!hasHubRows && product.getStock() != null && product.getStock() > 0) {
+            universalProducts.set(bit);
+        }
+    }
+
+    private void removeProduct(int bit) {
+        BitSet ordinals = hubsByProduct.remove(bit);
+        if (ordinals != null) {
+            for (int i = ordinals.nextSetBit(0); i >= 0; i = ordinals.nextSetBit(i + 1)) {
+                BitSet products = productsByHub.get(i);
+                if (products != null) {
+                    products.clear(bit);
+                }
+            }
+        }
+        String category = categoryByProduct.remove(bit);
+        if (category != null && productsByCategory.containsKey(category)) {
+            productsByCategory.get(category).clear(bit);
+        }
+        universalProducts.clear(bit);
+        activeProducts.clear(bit);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static int toBit(Long productId) {
+        return Math.toIntExact(productId);
+    }
+
+    private static List<Long> toIds(BitSet bits) {
+        List<Long> ids = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            ids.add((long) i);
+        }
+        return ids;
+    }
+}
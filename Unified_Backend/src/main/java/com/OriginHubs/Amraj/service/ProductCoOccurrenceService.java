@@ -0,0 +1,303 @@
+package com.OriginHubs.Amraj.service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.OriginHubs.Amraj.dto.ProductRecommendationResponse;
+import com.OriginHubs.Amraj.util.LongIntHashMap;
+
+/**
+ * Frequently-bought-together engine. Keeps two sparse co-occurrence matrices in memory,
+ * one counting orders that contain both products and one counting distinct customers
+ * who bought both, each row being a primitive product id to count map. The matrices are
+ * built once from order_items at startup and then updated as orders are placed.
+ */
+@Service
+public class ProductCoOccurrenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCoOccurrenceService.class);
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 50;
+    // Pairs grow quadratically with basket size; very large (bulk) orders add noise, not signal
+    private static final int MAX_BASKET_SIZE = 100;
+    private static final int FETCH_SIZE = 2000;
+    private static final String HISTORY_SQL = """
+        SELECT o.id, o.user_id, oi.product_id
+        FROM order_items oi
+        JOIN orders o ON o.id = oi.order_id
+        WHERE oi.product_id IS NOT NULL
+        ORDER BY o.id
+    """;
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ProductAvailabilityIndex productAvailabilityIndex;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    // Orders recorded while a rebuild streams the history; replayed unless the stream saw them
+    private final List<PendingOrder> pendingOrders = new ArrayList<>();
+    private Matrix matrix = new Matrix();
+
+    public ProductCoOccurrenceService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                      ProductAvailabilityIndex productAvailabilityIndex) {
+        // Separate template so the fetch size does not leak into other JdbcTemplate users;
+        // PostgreSQL only streams with a fetch size inside a transaction
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.productAvailabilityIndex = productAvailabilityIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("Recommendation rebuild is already running");
+        }
+        try {
+            long started = System.currentTimeMillis();
+            lock.writeLock().lock();
+            try {
+                pendingOrders.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Matrix fresh = new Matrix();
+            LongIntHashMap streamedOrders = new LongIntHashMap(1024);
+            BasketReader reader = new BasketReader(fresh, streamedOrders);
+            readOnlyTransaction.executeWithoutResult(status -> streamingJdbcTemplate.query(HISTORY_SQL, reader));
+            reader.flush();
+
+            lock.writeLock().lock();
+            try {
+                for (PendingOrder order : pendingOrders) {
+                    if (!streamedOrders.containsKey(order.orderId)) {
+                        fresh.addOrder(order.customerId, order.productIds);
+                    }
+                }
+                pendingOrders.clear();
+                matrix = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Built product co-occurrence matrix: {} orders, {} products in {} ms",
+                    streamedOrders.size(), fresh.basketCounts.size(), System.currentTimeMillis() - started);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Add a newly placed order to the matrices. Inside a transaction the update is
+     * deferred until commit so rolled back orders never count.
+     */
+    public void recordOrder(Long orderId, Long customerId, Collection<Long> productIds) {
+        long[] distinct = distinctIds(productIds);
+        if (orderId == null || distinct.length == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyOrder(orderId, customerId, distinct);
+                }
+            });
+        } else {
+            applyOrder(orderId, customerId, distinct);
+        }
+    }
+
+    /**
+     * Products most often in the same order as the given product.
+     */
+    public List<ProductRecommendationResponse> getBoughtTogether(Long productId, Integer limit) {
+        lock.readLock().lock();
+        try {
+            return topN(productId, matrix.basketPairs.get(productId), matrix.basketCounts.get(productId), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Products bought, in any order, by the most customers who also bought the given product.
+     */
+    public List<ProductRecommendationResponse> getAlsoBought(Long productId, Integer limit) {
+        lock.readLock().lock();
+        try {
+            return topN(productId, matrix.customerPairs.get(productId), matrix.customerCounts.get(productId), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyOrder(Long orderId, Long customerId, long[] productIds) {
+        lock.writeLock().lock();
+        try {
+            matrix.addOrder(customerId, productIds);
+            if (rebuilding.get()) {
+                pendingOrders.add(new PendingOrder(orderId, customerId, productIds));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<ProductRecommendationResponse> topN(Long productId, LongIntHashMap row, int sourceCount, Integer limit) {
+        if (productId == null || row == null || row.isEmpty()) {
+            return List.of();
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        Comparator<long[]> weakestFirst = Comparator.<long[]>comparingLong(entry -> entry[1])
+                .thenComparing(entry -> entry[0], Comparator.reverseOrder());
+        PriorityQueue<long[]> heap = new PriorityQueue<>(size + 1, weakestFirst);
+        row.forEach((otherId, count) -> {
+            if (!productAvailabilityIndex.isActive(otherId)) {
+                return;
+            }
+            long[] candidate = { otherId, count };
+            if (heap.size() < size) {
+                heap.add(candidate);
+            } else if (weakestFirst.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        });
+
+        List<ProductRecommendationResponse> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            long[] entry = heap.poll();
+            double confidence = sourceCount > 0 ? (double) entry[1] / sourceCount : 0d;
+            result.add(new ProductRecommendationResponse(entry[0], (int) entry[1], confidence));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static long[] distinctIds(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return new long[0];
+        }
+        LongIntHashMap seen = new LongIntHashMap(productIds.size());
+        for (Long id : productIds) {
+            if (id != null && id > 0) {
+                seen.put(id, 1);
+            }
+        }
+        return seen.keys();
+    }
+
+    private static final class Matrix {
+        private final Map<Long, LongIntHashMap> basketPairs = new HashMap<>();
+        private final LongIntHashMap basketCounts = new LongIntHashMap(1024);
+        private final Map<Long, LongIntHashMap> customerPairs = new HashMap<>();
+        private final LongIntHashMap customerCounts = new LongIntHashMap(1024);
+        private final Map<Long, LongIntHashMap> productsByCustomer = new HashMap<>();
+
+        private void addOrder(Long customerId, long[] productIds) {
+            if (productIds.length > MAX_BASKET_SIZE) {
+                return;
+            }
+            for (int i = 0; i < productIds.length; i++) {
+                basketCounts.addTo(productIds[i], 1);
+                for (int j = i + 1; j < productIds.length; j++) {
+                    increment(basketPairs, productIds[i], productIds[j]);
+                }
+            }
+            if (customerId == null) {
+                return;
+            }
+
+            // Only products new to this customer add customer-level pairs
+            LongIntHashMap bought = productsByCustomer.computeIfAbsent(customerId, k -> new LongIntHashMap());
+            long[] previous = bought.keys();
+            List<Long> added = new ArrayList<>();
+            for (long productId : productIds) {
+                if (!bought.containsKey(productId)) {
+                    added.add(productId);
+                }
+            }
+            for (int i = 0; i < added.size(); i++) {
+                long productId = added.get(i);
+                customerCounts.addTo(productId, 1);
+                for (long other : previous) {
+                    increment(customerPairs, productId, other);
+                }
+                for (int j = i + 1; j < added.size(); j++) {
+                    increment(customerPairs, productId, added.get(j));
+                }
+                bought.put(productId, 1);
+            }
+        }
+
+        private static void increment(Map<Long, LongIntHashMap> pairs, long a, long b) {
+            pairs.computeIfAbsent(a, k -> new LongIntHashMap()).addTo(b, 1);
+            pairs.computeIfAbsent(b, k -> new LongIntHashMap()).addTo(a, 1);
+        }
+    }
+
+    /**
+     * Groups the ordered history rows into baskets and feeds each completed basket to the matrix.
+     */
+    private static final class BasketReader implements RowCallbackHandler {
+        private final Matrix target;
+        private final LongIntHashMap streamedOrders;
+        private final List<Long> basket = new ArrayList<>();
+        private long currentOrderId;
+        private Long currentCustomerId;
+
+        private BasketReader(Matrix target, LongIntHashMap streamedOrders) {
+            this.target = target;
+            this.streamedOrders = streamedOrders;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long orderId = rs.getLong(1);
+            if (orderId != currentOrderId) {
+                flush();
+                currentOrderId = orderId;
+                long customerId = rs.getLong(2);
+                currentCustomerId = rs.wasNull() ? null : customerId;
+                streamedOrders.put(orderId, 1);
+            }
+            basket.add(rs.getLong(3));
+        }
+
+        private void flush() {
+            if (!basket.isEmpty()) {
+                target.addOrder(currentCustomerId, distinctIds(basket));
+                basket.clear();
+            }
+        }
+    }
+
+    private record PendingOrder(Long orderId, Long customerId, long[] productIds) {
+    }
+}
@@ -0,0 +1,275 @@
+package com.OriginHubs.Amraj.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.OriginHubs.Amraj.model.Image;
+import com.OriginHubs.Amraj.repository.ImageRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Stores product images under ./images/products/{productId}/ and generates
+ * width-bucketed variants next to the original on a small bounded worker pool.
+ * Variants are named {@code <original-name>-<variant>.<ext>} and picked by
+ * {@link com.OriginHubs.Amraj.config.ImageVariantResourceResolver} from the
+ * {@code size} query parameter.
+ */
+@Service
+public class ProductImageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImageService.class);
+    private static final Path IMAGE_ROOT = Paths.get("images");
+    private static final List<String> ALLOWED_IMAGE_TYPES = List.of(
+            "image/jpeg", "image/jpg", "image/png", "image/gif");
+
+    public enum Variant {
+        THUMBNAIL(200),
+        CARD(480),
+        DETAIL(1080);
+
+        private final int width;
+
+        Variant(int width) {
+            this.width = width;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public String suffix() {
+            return "-" + name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Variant fromParam(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            String normalized = value.trim().toUpperCase(Locale.ROOT);
+            if ("THUMB".equals(normalized)) {
+                return THUMBNAIL;
+            }
+            for (Variant variant : values()) {
+                if (variant.name().equals(normalized)) {
+                    return variant;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final ImageRepository imageRepository;
+    private final FileStorageService fileStorageService;
+    private final ThreadPoolExecutor variantExecutor;
+    private final Set<String> noVariantNeeded = ConcurrentHashMap.newKeySet();
+
+    public ProductImageService(ImageRepository imageRepository, FileStorageService fileStorageService) {
+        this.imageRepository = imageRepository;
+        this.fileStorageService = fileStorageService;
+        AtomicInteger threadCount = new AtomicInteger();
+        // Bounded queue; when full the uploading thread renders the variants itself
+        this.variantExecutor = new ThreadPoolExecutor(2, 2, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(200),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Store an uploaded product image, record it in the images table and queue its variants.
+     */
+    public Image storeProductImage(Long productId, MultipartFile file, boolean primary) throws IOException {
+        fileStorageService.validateFile(file);
+        if (!ALLOWED_IMAGE_TYPES.contains(file.getContentType().toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Only JPEG, PNG and GIF images are supported. Uploaded type: " + file.getContentType());
+        }
+
+        Path productDir = IMAGE_ROOT.resolve("products").resolve(String.valueOf(productId));
+        Files.createDirectories(productDir);
+
+        String extension = extensionFor(file.getContentType());
+        String fileName = "product-" + productId + "-" + UUID.randomUUID() + extension;
+        Path target = productDir.resolve(fileName);
+        Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+
+        Image image = new Image();
+        image.setReferenceType("PRODUCT");
+        image.setReferenceId(productId);
+        image.setFileName(fileName);
+        image.setFilePath("/images/products/" + productId + "/" + fileName);
+        image.setIsPrimary(primary);
+        Image saved = imageRepository.save(image);
+
+        // GIFs are served as uploaded; resizing would drop their animation
+        if (!".gif".equals(extension)) {
+            submitVariants(target);
+        }
+        return saved;
+    }
+
+    private static String extensionFor(String contentType) {
+        return switch (contentType.toLowerCase(Locale.ROOT)) {
+            case "image/png" -> ".png";
+            case "image/gif" -> ".gif";
+            default -> ".jpg";
+        };
+    }
+
+    /**
+     * Resolve the file to serve for an image path relative to ./images. Missing variants of
+     * images wider than the bucket are rendered on the spot so a long-cached response is
+     * never the full-size original by accident; smaller originals are served as-is.
+     */
+    public String resolveVariantPath(String imagePath, Variant variant) {
+        String candidate = variantPath(imagePath, variant);
+        Path root = IMAGE_ROOT.toAbsolutePath().normalize();
+        Path original = root.resolve(imagePath).normalize();
+        Path target = root.resolve(candidate).normalize();
+        if (!original.startsWith(root) || !target.startsWith(root)) {
+            return imagePath;
+        }
+        if (Files.exists(target)) {
+            return candidate;
+        }
+        if (!Files.isRegularFile(original) || !isOriginal(original) || noVariantNeeded.contains(target.toString())) {
+            return imagePath;
+        }
+        try {
+            BufferedImage source = ImageIO.read(original.toFile());
+            if (source != null && writeVariant(original, source, variant)) {
+                return candidate;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to render {} variant for {}", variant, original, e);
+            return imagePath;
+        }
+        noVariantNeeded.add(target.toString());
+        return imagePath;
+    }
+
+    /**
+     * Path of the given variant, stored alongside the original image.
+     */
+    public static String variantPath(String imagePath, Variant variant) {
+        int dot = imagePath.lastIndexOf('.');
+        int slash = imagePath.lastIndexOf('/');
+        if (dot <= slash) {
+            return imagePath + variant.suffix();
+        }
+        return imagePath.substring(0, dot) + variant.suffix() + imagePath.substring(dot);
+    }
+
+    /**
+     * Queue variants for originals that were stored before the pipeline existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillVariants() {
+        Path productsDir = IMAGE_ROOT.resolve("products");
+        if (!Files.isDirectory(productsDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(productsDir)) {
+            files.filter(Files::isRegularFile)
+                    .filter(ProductImageService::isOriginal)
+                    .filter(path -> !Files.exists(Paths.get(variantPath(path.toString(), Variant.THUMBNAIL))))
+                    .forEach(this::submitVariants);
+        } catch (IOException e) {
+            logger.warn("Could not scan product images for variant backfill: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        variantExecutor.shutdown();
+    }
+
+    private void submitVariants(Path original) {
+        variantExecutor.execute(() -> generateVariants(original));
+    }
+
+    private void generateVariants(Path original) {
+        try {
+            BufferedImage source = ImageIO.read(original.toFile());
+            if (source == null) {
+                logger.warn("Unsupported image format, skipping variants: {}", original);
+                return;
+            }
+            for (Variant variant : Variant.values()) {
+                writeVariant(original, source, variant);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to generate variants for {}", original, e);
+        }
+    }
+
+    private boolean writeVariant(Path original, BufferedImage source, Variant variant) throws IOException {
+        // Never upscale; smaller originals are served in place of the variant
+        if (source.getWidth() <= variant.getWidth()) {
+            return false;
+        }
+        String format = original.toString().toLowerCase(Locale.ROOT).endsWith(".png") ? "png" : "jpg";
+        Path target = Paths.get(variantPath(original.toString(), variant));
+        Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        ImageIO.write(resize(source, variant.getWidth(), format), format, temp.toFile());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, String format) {
+        int height = Math.max(1, (int) Math.round(source.getHeight() * (width / (double) source.getWidth())));
+        int type = "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage resized = new BufferedImage(width, height, type);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private static boolean isOriginal(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (!(name.endsWith(".jpg") || name.endsWith(".jpeg") || name.endsWith(".png"))) {
+            return false;
+        }
+        String base = name.substring(0, name.lastIndexOf('.'));
+        for (Variant variant : Variant.values()) {
+            if (base.endsWith(variant.suffix())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
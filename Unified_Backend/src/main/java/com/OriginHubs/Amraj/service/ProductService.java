@@ -4,10 +4,13 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
@@ -15,6 +18,7 @@ import org.apache.commons.csv.CSVRecord;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.OriginHubs.Amraj.model.BulkUploadResponse;
@@ -34,11 +38,14 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final HubRepository hubRepository;
     private final ProductHubVisibilityRepository productHubVisibilityRepository;
+    private final ProductAvailabilityIndex productAvailabilityIndex;
 
-    public ProductService(ProductRepository productRepository, HubRepository hubRepository, ProductHubVisibilityRepository productHubVisibilityRepository) {
+    public ProductService(ProductRepository productRepository, HubRepository hubRepository, ProductHubVisibilityRepository productHubVisibilityRepository,
+                          ProductAvailabilityIndex productAvailabilityIndex) {
         this.productRepository = productRepository;
         this.hubRepository = hubRepository;
         this.productHubVisibilityRepository = productHubVisibilityRepository;
+        this.productAvailabilityIndex = productAvailabilityIndex;
     }
 
     public List<Product> getAllProducts(String category, String status, String search, String sortBy) {
@@ -70,6 +77,7 @@ public class ProductService {
         return productRepository.findById(id);
     }
 
+    @Transactional
     public Product createProduct(ProductRequest request) {
         Product newProduct = new Product();
         newProduct.setName(request.getName());
@@ -87,25 +95,14 @@ public class ProductService {
         Product savedProduct = productRepository.save(newProduct);
         
         if (request.getHubVisibility() != null && !request.getHubVisibility().equals("ALL")) {
-            String[] hubIds = request.getHubVisibility().split(",");
-            int stockPerHub = request.getStock() / hubIds.length;
-            int remainder = request.getStock() % hubIds.length;
-            
-            for (int i = 0; i < hubIds.length; i++) {
-                try {
-                    ProductHubVisibility visibility = new ProductHubVisibility();
-                    visibility.setProductId(savedProduct.getId());
-                    visibility.setHubId(java.util.UUID.fromString(hubIds[i].trim()));
-                    visibility.setStock(stockPerHub + (i == 0 ? remainder : 0));
-                    productHubVisibilityRepository.save(visibility);
-                } catch (IllegalArgumentException e) {
-                }
-            }
+            distributeStockAcrossHubs(savedProduct, request.getHubVisibility());
         }
+        productAvailabilityIndex.refreshProducts(List.of(savedProduct.getId()));
         
         return savedProduct;
     }
 
+    @Transactional
     public Optional<Product> updateProduct(Long id, ProductRequest request) {
         return productRepository.findById(id).map(existingProduct -> {
             Integer oldStock = existingProduct.getStock();
@@ -124,39 +121,13 @@ public class ProductService {
             
             Product savedProduct = productRepository.save(existingProduct);
             
-            // Update product_hub_visibility if stock changed
-            List<ProductHubVisibility> existingVisibilities = productHubVisibilityRepository.findByProductId(id);
-            if (!existingVisibilities.isEmpty() && !request.getStock().equals(oldStock)) {
-                int newStock = request.getStock();
-                int hubCount = existingVisibilities.size();
-                int stockPerHub = newStock / hubCount;
-                int remainder = newStock % hubCount;
-                
-                for (int i = 0; i < existingVisibilities.size(); i++) {
-                    ProductHubVisibility visibility = existingVisibilities.get(i);
-                    visibility.setStock(stockPerHub + (i == 0 ? remainder : 0));
-                    productHubVisibilityRepository.save(visibility);
-                }
-            }
-            
             if (request.getHubVisibility() != null && !request.getHubVisibility().equals("ALL")) {
-                productHubVisibilityRepository.deleteAll(existingVisibilities);
-                
-                String[] hubIds = request.getHubVisibility().split(",");
-                int stockPerHub = request.getStock() / hubIds.length;
-                int remainder = request.getStock() % hubIds.length;
-                
-                for (int i = 0; i < hubIds.length; i++) {
-                    try {
-                        ProductHubVisibility visibility = new ProductHubVisibility();
-                        visibility.setProductId(savedProduct.getId());
-                        visibility.setHubId(java.util.UUID.fromString(hubIds[i].trim()));
-                        visibility.setStock(stockPerHub + (i == 0 ? remainder : 0));
-                        productHubVisibilityRepository.save(visibility);
-                    } catch (IllegalArgumentException e) {
-                    }
-                }
+                distributeStockAcrossHubs(savedProduct, request.getHubVisibility());
+            } else if (request.getStock() != null && !request.getStock().equals(oldStock)) {
+                // Re-split the new stock over the hubs the product is already visible in
+                productHubVisibilityRepository.redistributeStock(List.of(id));
             }
+            productAvailabilityIndex.refreshProducts(List.of(id));
             
             return savedProduct;
         });
@@ -166,13 +137,16 @@ public class ProductService {
         productRepository.findById(id).ifPresent(product -> {
             product.setStatus("ARCHIVED");
             productRepository.save(product);
+            productAvailabilityIndex.refreshProducts(List.of(id));
         });
     }
 
     public Optional<Product> updateProductStatus(Long id, String status) {
         return productRepository.findById(id).map(product -> {
             product.setStatus(status);
-            return productRepository.save(product);
+            Product saved = productRepository.save(product);
+            productAvailabilityIndex.refreshProducts(List.of(id));
+            return saved;
         });
     }
 
@@ -215,6 +189,7 @@ public class ProductService {
 
         product.setStock(totalStock);
         productRepository.save(product);
+        productAvailabilityIndex.refreshProducts(List.of(productId));
 
         StockSyncResponse response = new StockSyncResponse();
         response.setProductId(productId);
@@ -229,6 +204,7 @@ public class ProductService {
     public BulkUploadResponse saveBulkProducts(MultipartFile file) {
         List<Map<String, Object>> errorList = new ArrayList<>();
         int successCount = 0;
+        List<Long> createdIds = new ArrayList<>();
 
         try (BufferedReader fileReader = new BufferedReader(new InputStreamReader(file.getInputStream(), "UTF-8"));
              CSVParser csvParser = new CSVParser(fileReader,
@@ -257,7 +233,7 @@ public class ProductService {
                     product.setAvailableKg(Double.parseDouble(csvRecord.get("AvailableKg")));
                     product.setImageUrl(csvRecord.get("ImageUrl"));
 
-                    productRepository.save(product);
+                    createdIds.add(productRepository.save(product).getId());
                     successCount++;
                 } catch (Exception e) {
                     Map<String, Object> errorDetails = new HashMap<>();
@@ -270,36 +246,48 @@ public class ProductService {
         } catch (IOException e) {
             throw new RuntimeException("Failed to parse CSV file: " + e.getMessage());
         }
+        productAvailabilityIndex.refreshProducts(createdIds);
         return new BulkUploadResponse(successCount, errorList.size(), errorList);
     }
 
+    @Transactional
     public Optional<Product> updateProductVisibility(Long id, String hubVisibility) {
         return productRepository.findById(id).map(product -> {
             product.setHubVisibility(hubVisibility);
             Product saved = productRepository.save(product);
 
-            List<ProductHubVisibility> existing = productHubVisibilityRepository.findByProductId(id);
-            productHubVisibilityRepository.deleteAll(existing);
-
-            if (hubVisibility != null && !hubVisibility.equals("ALL") && !hubVisibility.isBlank()) {
-                String[] hubIds = hubVisibility.split(",");
-                int totalStock = product.getStock() != null ? product.getStock() : 0;
-                int stockPerHub = hubIds.length > 0 ? totalStock / hubIds.length : 0;
-                int remainder = hubIds.length > 0 ? totalStock % hubIds.length : 0;
-
-                for (int i = 0; i < hubIds.length; i++) {
-                    try {
-                        ProductHubVisibility visibility = new ProductHubVisibility();
-                        visibility.setProductId(saved.getId());
-                        visibility.setHubId(java.util.UUID.fromString(hubIds[i].trim()));
-                        visibility.setStock(stockPerHub + (i == 0 ? remainder : 0));
-                        productHubVisibilityRepository.save(visibility);
-                    } catch (IllegalArgumentException e) {
-                    }
-                }
-            }
+            // "ALL" (or nothing) means no per-hub rows, so an empty list clears them
+            boolean explicitHubs = hubVisibility != null && !hubVisibility.equals("ALL") && !hubVisibility.isBlank();
+            distributeStockAcrossHubs(saved, explicitHubs ? hubVisibility : "");
+            productAvailabilityIndex.refreshProducts(List.of(id));
 
             return saved;
         });
     }
+
+    /**
+     * Re-split the current stock of the given products across the hubs each one is
+     * already visible in, using one statement regardless of how many products are passed.
+     */
+    @Transactional
+    public int redistributeStock(Collection<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return 0;
+        }
+        int updatedRows = productHubVisibilityRepository.redistributeStock(productIds);
+        productAvailabilityIndex.refreshProducts(productIds);
+        return updatedRows;
+    }
+
+    private void distributeStockAcrossHubs(Product product, String hubVisibility) {
+        Set<String> hubIds = new LinkedHashSet<>();
+        for (String hubId : hubVisibility.split(",")) {
+            try {
+                hubIds.add(java.util.UUID.fromString(hubId.trim()).toString());
+            } catch (IllegalArgumentException e) {
+            }
+        }
+        int totalStock = product.getStock() != null ? product.getStock() : 0;
+        productHubVisibilityRepository.upsertDistribution(product.getId(), String.join(",", hubIds), totalStock);
+    }
 }
@@ -0,0 +1,252 @@
+package com.OriginHubs.Amraj.service;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.OriginHubs.Amraj.dto.InventoryItemResponse;
+import com.OriginHubs.Amraj.dto.ReorderForecastRunResponse;
+import com.OriginHubs.Amraj.dto.ReorderSuggestionResponse;
+import com.OriginHubs.Amraj.util.HoltWinters;
+
+/**
+ * Nightly demand forecast per (hub, sku). Daily units sold are streamed from the order
+ * history in hub order; as soon as a hub's rows are complete it is handed to a fork-join
+ * pool, which fits weekly-seasonal Holt-Winters models for its SKUs while the stream
+ * moves on to the next hub. From each fit come a reorder level covering lead-time demand
+ * plus safety stock and an order-up-to quantity, written to inventory_reorder_suggestions.
+ */
+@Service
+public class ReorderForecastService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReorderForecastService.class);
+    private static final int FETCH_SIZE = 2000;
+    private static final int WRITE_BATCH_SIZE = 500;
+    private static final int SEASON_DAYS = 7;
+    private static final double ALPHA = 0.3;
+    private static final double BETA = 0.05;
+    private static final double GAMMA = 0.2;
+
+    private static final String HISTORY_SQL = """
+        SELECT o.hub_id, p.sku, CAST(o.created_at AS DATE) AS day, SUM(oi.quantity) AS units
+        FROM order_items oi
+        JOIN orders o ON o.id = oi.order_id
+        JOIN products p ON p.id = oi.product_id
+        WHERE o.hub_id IS NOT NULL AND p.sku IS NOT NULL
+          AND o.created_at >= ?
+          AND (o.status IS NULL OR LOWER(o.status) <> 'cancelled')
+        GROUP BY o.hub_id, p.sku, CAST(o.created_at AS DATE)
+        ORDER BY o.hub_id, p.sku
+    """;
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO inventory_reorder_suggestions
+            (hub_id, sku, daily_demand, suggested_reorder_level, suggested_reorder_quantity, computed_at)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT (hub_id, sku) DO UPDATE
+        SET daily_demand = EXCLUDED.daily_demand,
+            suggested_reorder_level = EXCLUDED.suggested_reorder_level,
+            suggested_reorder_quantity = EXCLUDED.suggested_reorder_quantity,
+            computed_at = EXCLUDED.computed_at
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final InventorySearchIndex inventorySearchIndex;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Value("${app.reorder-forecast.history-days:91}")
+    private int historyDays;
+
+    @Value("${app.reorder-forecast.lead-time-days:3}")
+    private int leadTimeDays;
+
+    @Value("${app.reorder-forecast.review-days:7}")
+    private int reviewDays;
+
+    // 1.65 standard deviations of forecast error: roughly a 95% cycle service level
+    @Value("${app.reorder-forecast.safety-factor:1.65}")
+    private double safetyFactor;
+
+    public ReorderForecastService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  InventorySearchIndex inventorySearchIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Separate template so the fetch size does not leak into other JdbcTemplate users
+        this.streamingJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.streamingJdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.inventorySearchIndex = inventorySearchIndex;
+    }
+
+    @Scheduled(cron = "${app.reorder-forecast.cron:0 0 3 * * *}")
+    public void scheduledForecast() {
+        try {
+            ReorderForecastRunResponse result = runForecast();
+            log.info("Reorder forecast: {} hubs, {} SKUs, {} suggestions in {} ms",
+                    result.hubsProcessed(), result.skusForecast(), result.suggestionsWritten(), result.durationMs());
+        } catch (IllegalStateException e) {
+            log.info("Skipping scheduled reorder forecast: {}", e.getMessage());
+        }
+    }
+
+    public ReorderForecastRunResponse runForecast() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Reorder forecast is already running");
+        }
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            return doForecast(pool);
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+
+    private ReorderForecastRunResponse doForecast(ForkJoinPool pool) {
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        LocalDate firstDay = today.minusDays(historyDays);
+
+        HistoryReader reader = new HistoryReader(firstDay, pool);
+        readOnlyTransaction.executeWithoutResult(status -> streamingJdbcTemplate.query(HISTORY_SQL, reader,
+                Timestamp.valueOf(firstDay.atStartOfDay())));
+        reader.submitCurrentHub();
+
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (ForkJoinTask<List<Suggestion>> task : reader.tasks) {
+            suggestions.addAll(task.join());
+        }
+
+        Timestamp computedAt = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, suggestions, WRITE_BATCH_SIZE, (ps, suggestion) -> {
+            ps.setObject(1, suggestion.hubId);
+            ps.setString(2, suggestion.sku);
+            ps.setDouble(3, suggestion.dailyDemand);
+            ps.setInt(4, suggestion.reorderLevel);
+            ps.setInt(5, suggestion.reorderQuantity);
+            ps.setTimestamp(6, computedAt);
+        });
+        // SKUs that stopped selling or left a hub drop out of the suggestions
+        jdbcTemplate.update("DELETE FROM inventory_reorder_suggestions WHERE computed_at < ?", computedAt);
+
+        return new ReorderForecastRunResponse(reader.tasks.size(), reader.skus, suggestions.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    public List<ReorderSuggestionResponse> getSuggestions(UUID hubId) {
+        return jdbcTemplate.query("""
+            SELECT s.sku, i.product_name, i.quantity, i.reorder_level, s.daily_demand,
+                   s.suggested_reorder_level, s.suggested_reorder_quantity, s.computed_at
+            FROM inventory_reorder_suggestions s
+            JOIN inventory_items i ON i.hub_id = s.hub_id AND i.sku = s.sku
+            WHERE s.hub_id = ?
+            ORDER BY s.suggested_reorder_quantity DESC, s.sku
+            """,
+            (rs, rowNum) -> new ReorderSuggestionResponse(
+                    rs.getString("sku"),
+                    rs.getString("product_name"),
+                    rs.getInt("quantity"),
+                    rs.getInt("reorder_level"),
+                    rs.getDouble("daily_demand"),
+                    rs.getInt("suggested_reorder_level"),
+                    rs.getInt("suggested_reorder_quantity"),
+                    rs.getTimestamp("computed_at").toInstant().atZone(ZoneId.systemDefault())),
+            hubId);
+    }
+
+    /**
+     * Forecast every stocked SKU of a hub that has sales history. Runs on the fork-join pool.
+     */
+    private List<Suggestion> forecastHub(UUID hubId, Map<String, double[]> demandBySku) {
+        List<Suggestion> suggestions = new ArrayList<>();
+        for (InventoryItemResponse item : inventorySearchIndex.findAll(hubId, null, null)) {
+            double[] series = demandBySku.get(item.sku());
+            if (series == null) {
+                continue;
+            }
+            HoltWinters.Fit fit = HoltWinters.fit(series, SEASON_DAYS, ALPHA, BETA, GAMMA);
+            double leadTimeDemand = fit.total(leadTimeDays);
+            double cycleDemand = fit.total(leadTimeDays + reviewDays);
+            double safetyStock = safetyFactor * fit.rmse() * Math.sqrt(leadTimeDays);
+            int current = item.quantity() != null ? item.quantity() : 0;
+
+            int reorderLevel = (int) Math.ceil(leadTimeDemand + safetyStock);
+            int orderUpTo = (int) Math.ceil(cycleDemand + safetyStock);
+            suggestions.add(new Suggestion(hubId, item.sku(), cycleDemand / (leadTimeDays + reviewDays),
+                    reorderLevel, Math.max(0, orderUpTo - current)));
+        }
+        return suggestions;
+    }
+
+    private record Suggestion(UUID hubId, String sku, double dailyDemand, int reorderLevel, int reorderQuantity) {
+    }
+
+    /**
+     * Collects daily demand one hub at a time; rows arrive ordered by hub, so a hub is
+     * complete, and submitted for forecasting, when the next one starts.
+     */
+    private final class HistoryReader implements RowCallbackHandler {
+        private final LocalDate firstDay;
+        private final ForkJoinPool pool;
+        private final List<ForkJoinTask<List<Suggestion>>> tasks = new ArrayList<>();
+        private UUID currentHubId;
+        private Map<String, double[]> currentHub = new HashMap<>();
+        private int skus;
+
+        private HistoryReader(LocalDate firstDay, ForkJoinPool pool) {
+            this.firstDay = firstDay;
+            this.pool = pool;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID hubId = rs.getObject(1, UUID.class);
+            if (!hubId.equals(currentHubId)) {
+                submitCurrentHub();
+                currentHubId = hubId;
+            }
+            Date day = rs.getDate(3);
+            int index = (int) ChronoUnit.DAYS.between(firstDay, day.toLocalDate());
+            if (index < 0 || index >= historyDays) {
+                return;
+            }
+            double[] series = currentHub.computeIfAbsent(rs.getString(2), sku -> new double[historyDays]);
+            series[index] += rs.getLong(4);
+        }
+
+        private void submitCurrentHub() {
+            if (currentHubId == null || currentHub.isEmpty()) {
+                return;
+            }
+            UUID hubId = currentHubId;
+            Map<String, double[]> demand = currentHub;
+            skus += demand.size();
+            tasks.add(pool.submit(() -> forecastHub(hubId, demand)));
+            currentHub = new HashMap<>();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.OriginHubs.Amraj.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.OriginHubs.Amraj.dto.InventoryItemResponse;
+import com.OriginHubs.Amraj.dto.StockTransferBatchResponse;
+import com.OriginHubs.Amraj.dto.StockTransferRequest;
+import com.OriginHubs.Amraj.entity.enums.InventoryMovementType;
+import com.OriginHubs.Amraj.repository.InventoryItemRepository;
+
+/**
+ * Applies stock transfers between hubs with set-based SQL. A batch is reduced to one
+ * net change per (hub, sku); every existing row is locked up front in (hub, sku) order
+ * and missing destination rows are inserted in the same order, so concurrent batches
+ * always wait on each other in one direction and cannot deadlock. Sources are drawn
+ * down with conditional updates, so a batch either applies completely or not at all.
+ */
+@Service
+public class StockTransferService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String DRAW_DOWN_SQL =
+            "UPDATE inventory_items SET quantity = quantity - ? WHERE hub_id = ? AND sku = ? AND quantity >= ?";
+
+    // Missing destinations copy the product details from the source row of the same SKU
+    private static final String RECEIVE_SQL = """
+            INSERT INTO inventory_items (id, hub_id, sku, product_name, quantity, reorder_level, status,
+                                         description, unit_price, unit, last_restocked, created_at, updated_at)
+            SELECT gen_random_uuid(), ?, s.sku, s.product_name, ?, s.reorder_level, 'IN_STOCK',
+                   s.description, s.unit_price, s.unit, NOW(), NOW(), NOW()
+            FROM inventory_items s
+            WHERE s.hub_id = ? AND s.sku = ?
+            ON CONFLICT (hub_id, sku) DO UPDATE
+            SET quantity = inventory_items.quantity + EXCLUDED.quantity, last_restocked = NOW()
+            """;
+
+    // Same thresholds as InventoryItem#updateStatus, which JPA callbacks never see here
+    private static final String RESTATUS_SQL = """
+            UPDATE inventory_items
+            SET status = CASE
+                    WHEN quantity = 0 THEN 'OUT_OF_STOCK'
+                    WHEN quantity < reorder_level THEN 'REORDER_NEEDED'
+                    WHEN quantity <= reorder_level * 1.1 THEN 'LOW_STOCK'
+                    ELSE 'IN_STOCK'
+                END,
+                updated_at = NOW()
+            WHERE (hub_id, sku) IN (%s)
+            RETURNING id
+            """;
+
+    private static final Comparator<StockKey> LOCK_ORDER =
+            Comparator.comparing((StockKey key) -> key.hubId().toString()).thenComparing(StockKey::sku);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final InventorySearchIndex inventorySearchIndex;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final LowStockAlertService lowStockAlertService;
+
+    public StockTransferService(JdbcTemplate jdbcTemplate, InventoryItemRepository inventoryItemRepository,
+                                InventorySearchIndex inventorySearchIndex, InventoryLedgerService inventoryLedgerService,
+                                LowStockAlertService lowStockAlertService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.inventorySearchIndex = inventorySearchIndex;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.lowStockAlertService = lowStockAlertService;
+    }
+
+    @Transactional
+    public StockTransferBatchResponse transfer(List<StockTransferRequest> transfers) {
+        return transfer(transfers, (String) null);
+    }
+
+    /**
+     * Apply the transfers as one unit; {@code reference} tags their ledger movements.
+     */
+    @Transactional
+    public StockTransferBatchResponse transfer(List<StockTransferRequest> transfers, String reference) {
+        return transfer(transfers, Collections.nCopies(transfers.size(), reference));
+    }
+
+    /**
+     * Apply the transfers as one unit, tagging each one's ledger movements with the
+     * reference at the same position in {@code references}.
+     */
+    @Transactional
+    public StockTransferBatchResponse transfer(List<StockTransferRequest> transfers, List<String> references) {
+        Map<StockKey, Integer> netChanges = new TreeMap<>(LOCK_ORDER);
+        Map<String, UUID> templateHubBySku = new HashMap<>();
+        Set<UUID> destinationHubs = new HashSet<>();
+        long totalQuantity = 0;
+        for (StockTransferRequest transfer : transfers) {
+            if (transfer.quantity() == null || transfer.quantity() < 1) {
+                throw new IllegalArgumentException("Transfer quantity must be at least 1");
+            }
+            if (transfer.sourceHubId().equals(transfer.destinationHubId())) {
+                throw new IllegalArgumentException("Source and destination hubs must be different");
+            }
+            netChanges.merge(new StockKey(transfer.sourceHubId(), transfer.sku()), -transfer.quantity(), Integer::sum);
+            netChanges.merge(new StockKey(transfer.destinationHubId(), transfer.sku()), transfer.quantity(), Integer::sum);
+            templateHubBySku.putIfAbsent(transfer.sku(), transfer.sourceHubId());
+            destinationHubs.add(transfer.destinationHubId());
+            totalQuantity += transfer.quantity();
+        }
+        netChanges.values().removeIf(change -> change == 0);
+        requireHubsExist(destinationHubs);
+        // Buffered until commit, so a failed batch leaves no movements behind
+        for (int i = 0; i < transfers.size(); i++) {
+            StockTransferRequest transfer = transfers.get(i);
+            inventoryLedgerService.record(transfer.sourceHubId(), transfer.sku(), -transfer.quantity(),
+                    InventoryMovementType.TRANSFER_OUT, references.get(i));
+            inventoryLedgerService.record(transfer.destinationHubId(), transfer.sku(), transfer.quantity(),
+                    InventoryMovementType.TRANSFER_IN, references.get(i));
+        }
+        if (netChanges.isEmpty()) {
+            return new StockTransferBatchResponse(transfers.size(), totalQuantity, List.of());
+        }
+
+        Map<StockKey, Integer> available = lockRows(netChanges.keySet());
+
+        List<Object[]> drawDowns = new ArrayList<>();
+        List<Object[]> receipts = new ArrayList<>();
+        netChanges.forEach((key, change) -> {
+            if (change < 0) {
+                Integer quantity = available.get(key);
+                if (quantity == null) {
+                    throw new IllegalArgumentException("Item not found in source hub: " + key.sku());
+                }
+                if (quantity < -change) {
+                    throw new IllegalArgumentException("Insufficient quantity of " + key.sku() + " in source hub. Available: "
+                            + quantity + ", Requested: " + -change);
+                }
+                drawDowns.add(new Object[] { -change, key.hubId(), key.sku(), -change });
+            } else {
+                receipts.add(new Object[] { key.hubId(), change, templateHubBySku.get(key.sku()), key.sku() });
+            }
+        });
+
+        int[][] drawn = jdbcTemplate.batchUpdate(DRAW_DOWN_SQL, drawDowns, BATCH_SIZE, (ps, args) -> {
+            ps.setInt(1, (Integer) args[0]);
+            ps.setObject(2, args[1]);
+            ps.setString(3, (String) args[2]);
+            ps.setInt(4, (Integer) args[3]);
+        });
+        for (int[] counts : drawn) {
+            for (int count : counts) {
+                // Rows are locked, so this only trips if they changed outside the lock
+                if (count == 0) {
+                    throw new IllegalStateException("Source stock changed during transfer");
+                }
+            }
+        }
+        // Receipts run in lock order too; inserts into the unique index are the only new locks taken
+        int[][] received = jdbcTemplate.batchUpdate(RECEIVE_SQL, receipts, BATCH_SIZE, (ps, args) -> {
+            ps.setObject(1, args[0]);
+            ps.setInt(2, (Integer) args[1]);
+            ps.setObject(3, args[2]);
+            ps.setString(4, (String) args[3]);
+        });
+        int receipt = 0;
+        for (int[] counts : received) {
+            for (int count : counts) {
+                // Nothing to copy the product details from
+                if (count == 0) {
+                    throw new IllegalArgumentException("Item not found in source hub: " + receipts.get(receipt)[3]);
+                }
+                receipt++;
+            }
+        }
+
+        List<Object> keyArgs = new ArrayList<>();
+        String keyFilter = keyFilter(netChanges.keySet(), keyArgs);
+        List<UUID> touched = jdbcTemplate.queryForList(RESTATUS_SQL.formatted(keyFilter), UUID.class, keyArgs.toArray());
+        List<InventoryItemResponse> updated = inventoryItemRepository.findResponsesByIdIn(touched);
+        inventorySearchIndex.indexRows(updated);
+        for (InventoryItemResponse item : updated) {
+            Integer before = available.get(new StockKey(item.hubId(), item.sku()));
+            if (before != null) {
+                lowStockAlertService.onQuantityChanged(item.hubId(), item.hubName(), item.sku(), item.productName(),
+                        before, item.quantity(), item.reorderLevel());
+            }
+        }
+        return new StockTransferBatchResponse(transfers.size(), totalQuantity, updated);
+    }
+
+    private void requireHubsExist(Set<UUID> hubIds) {
+        List<UUID> ids = new ArrayList<>(hubIds);
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        List<UUID> found = jdbcTemplate.queryForList(
+                "SELECT id FROM hubs WHERE id IN (" + placeholders + ")", UUID.class, ids.toArray());
+        for (UUID id : ids) {
+            if (!found.contains(id)) {
+                throw new IllegalArgumentException("Destination hub not found with id: " + id);
+            }
+        }
+    }
+
+    /**
+     * Lock the existing rows for the keys in (hub, sku) order and return their quantities.
+     */
+    private Map<StockKey, Integer> lockRows(Set<StockKey> keys) {
+        List<Object> args = new ArrayList<>(keys.size() * 2);
+        String sql = "SELECT hub_id, sku, quantity FROM inventory_items WHERE (hub_id, sku) IN ("
+                + keyFilter(keys, args) + ") ORDER BY hub_id::text, sku FOR UPDATE";
+
+        Map<StockKey, Integer> quantities = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            quantities.put(new StockKey(rs.getObject("hub_id", UUID.class), rs.getString("sku")), rs.getInt("quantity"));
+        }, args.toArray());
+        return quantities;
+    }
+
+    private static String keyFilter(Set<StockKey> keys, List<Object> args) {
+        StringBuilder filter = new StringBuilder();
+        for (StockKey key : keys) {
+            filter.append(filter.length() == 0 ? "(?, ?)" : ", (?, ?)");
+            args.add(key.hubId());
+            args.add(key.sku());
+        }
+        return filter.toString();
+    }
+
+    private record StockKey(UUID hubId, String sku) {
+    }
+}
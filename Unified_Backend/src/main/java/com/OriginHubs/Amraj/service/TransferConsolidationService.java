@@ -0,0 +1,218 @@
+package com.OriginHubs.Amraj.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.OriginHubs.Amraj.dto.ConsolidatedShipmentResponse;
+import com.OriginHubs.Amraj.dto.ShipmentLineResponse;
+import com.OriginHubs.Amraj.dto.TransferConsolidationPlanResponse;
+
+/**
+ * Proposes how pending transfer requests could travel together. Requests are grouped by
+ * route (source hub to destination hub) and packed into shipments limited by both units
+ * and weight using first-fit decreasing; a request too large for one shipment is split
+ * across several. The shipments are then ordered for dispatch: routes holding the
+ * longest-waiting request go first, fuller shipments first within a route. Nothing is
+ * written; approving the requests still goes through the transfer request endpoints.
+ */
+@Service
+public class TransferConsolidationService {
+
+    private static final String PENDING_SQL = """
+        SELECT tr.id, tr.request_id, tr.quantity, tr.created_at,
+               tr.source_hub_id, sh.name AS source_name,
+               tr.destination_hub_id, dh.name AS destination_name,
+               i.sku, i.product_name, i.unit
+        FROM transfer_requests tr
+        JOIN hubs sh ON sh.id = tr.source_hub_id
+        JOIN hubs dh ON dh.id = tr.destination_hub_id
+        JOIN inventory_items i ON i.id = tr.inventory_item_id
+        WHERE tr.status = 'PENDING'
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.transfer-consolidation.max-units:500}")
+    private int defaultMaxUnits;
+
+    @Value("${app.transfer-consolidation.max-weight-kg:1000}")
+    private double defaultMaxWeightKg;
+
+    // Weight assumed for one unit of anything not sold by weight (boxes, dozens, pieces)
+    @Value("${app.transfer-consolidation.default-unit-weight-kg:1.0}")
+    private double defaultUnitWeightKg;
+
+    public TransferConsolidationService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public TransferConsolidationPlanResponse plan(Integer maxUnits, Double maxWeightKg) {
+        long started = System.currentTimeMillis();
+        int unitCapacity = maxUnits != null ? maxUnits : defaultMaxUnits;
+        double weightCapacity = maxWeightKg != null ? maxWeightKg : defaultMaxWeightKg;
+        if (unitCapacity < 1 || weightCapacity <= 0) {
+            throw new IllegalArgumentException("Shipment capacity must be positive");
+        }
+
+        Map<Route, List<Pending>> byRoute = new LinkedHashMap<>();
+        int[] pendingCount = {0};
+        jdbcTemplate.query(PENDING_SQL, rs -> {
+            Timestamp createdAt = rs.getTimestamp("created_at");
+            Pending pending = new Pending(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("request_id"),
+                    rs.getString("sku"),
+                    rs.getString("product_name"),
+                    rs.getInt("quantity"),
+                    unitWeightKg(rs.getString("unit")),
+                    createdAt != null ? createdAt.toLocalDateTime() : null);
+            Route route = new Route(rs.getObject("source_hub_id", UUID.class), rs.getString("source_name"),
+                    rs.getObject("destination_hub_id", UUID.class), rs.getString("destination_name"));
+            byRoute.computeIfAbsent(route, r -> new ArrayList<>()).add(pending);
+            pendingCount[0]++;
+        });
+
+        List<Shipment> shipments = new ArrayList<>();
+        for (Map.Entry<Route, List<Pending>> entry : byRoute.entrySet()) {
+            shipments.addAll(pack(entry.getKey(), entry.getValue(), unitCapacity, weightCapacity));
+        }
+
+        // Oldest waiting request of each route decides when the route ships
+        Map<Route, LocalDateTime> routeOldest = new LinkedHashMap<>();
+        for (Shipment shipment : shipments) {
+            routeOldest.merge(shipment.route, shipment.oldest, TransferConsolidationService::earlier);
+        }
+        Comparator<LocalDateTime> oldestFirst = Comparator.nullsLast(Comparator.naturalOrder());
+        shipments.sort(Comparator.comparing((Shipment s) -> routeOldest.get(s.route), oldestFirst)
+                .thenComparing(s -> s.route.sourceHubId)
+                .thenComparing(s -> s.route.destinationHubId)
+                .thenComparing(Comparator.comparingDouble((Shipment s) -> s.utilisation(unitCapacity, weightCapacity)).reversed())
+                .thenComparing(s -> s.oldest, oldestFirst));
+
+        List<ConsolidatedShipmentResponse> plan = new ArrayList<>(shipments.size());
+        double utilisationSum = 0;
+        for (Shipment shipment : shipments) {
+            double utilisation = shipment.utilisation(unitCapacity, weightCapacity);
+            utilisationSum += utilisation;
+            plan.add(new ConsolidatedShipmentResponse(plan.size() + 1,
+                    shipment.route.sourceHubId, shipment.route.sourceHubName,
+                    shipment.route.destinationHubId, shipment.route.destinationHubName,
+                    shipment.units, round(shipment.weightKg), round(utilisation), shipment.oldest,
+                    shipment.lines));
+        }
+        return new TransferConsolidationPlanResponse(pendingCount[0], byRoute.size(), plan.size(),
+                unitCapacity, weightCapacity, plan.isEmpty() ? 0 : round(utilisationSum / plan.size()),
+                System.currentTimeMillis() - started, plan);
+    }
+
+    /**
+     * First-fit decreasing over two dimensions: pieces are sized by whichever of units or
+     * weight fills more of a shipment, placed largest first into the first shipment with
+     * room in both.
+     */
+    private static List<Shipment> pack(Route route, List<Pending> requests, int unitCapacity, double weightCapacity) {
+        List<Piece> pieces = new ArrayList<>();
+        for (Pending request : requests) {
+            // A request bigger than one shipment is split into full shipment loads plus a remainder
+            int perShipment = unitCapacity;
+            if (request.unitWeightKg > 0) {
+                perShipment = (int) Math.min(perShipment, Math.floor(weightCapacity / request.unitWeightKg));
+            }
+            perShipment = Math.max(1, perShipment);
+            for (int remaining = request.quantity; remaining > 0; remaining -= perShipment) {
+                int quantity = Math.min(remaining, perShipment);
+                double size = Math.max((double) quantity / unitCapacity, quantity * request.unitWeightKg / weightCapacity);
+                pieces.add(new Piece(request, quantity, size));
+            }
+        }
+        pieces.sort(Comparator.comparingDouble((Piece piece) -> piece.size).reversed());
+
+        List<Shipment> shipments = new ArrayList<>();
+        for (Piece piece : pieces) {
+            int units = piece.quantity;
+            double weight = piece.quantity * piece.request.unitWeightKg;
+            Shipment target = null;
+            for (Shipment shipment : shipments) {
+                if (shipment.units + units <= unitCapacity && shipment.weightKg + weight <= weightCapacity) {
+                    target = shipment;
+                    break;
+                }
+            }
+            if (target == null) {
+                target = new Shipment(route);
+                shipments.add(target);
+            }
+            target.add(piece.request, units, weight);
+        }
+        return shipments;
+    }
+
+    private double unitWeightKg(String unit) {
+        if (unit == null) {
+            return defaultUnitWeightKg;
+        }
+        return switch (unit.trim().toLowerCase(Locale.ROOT)) {
+            case "kg", "kgs", "kilogram", "kilograms" -> 1.0;
+            case "g", "gm", "gms", "gram", "grams" -> 0.001;
+            case "quintal" -> 100.0;
+            case "ton", "tonne", "tons", "tonnes" -> 1000.0;
+            default -> defaultUnitWeightKg;
+        };
+    }
+
+    private static LocalDateTime earlier(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isBefore(b) ? a : b;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private record Route(UUID sourceHubId, String sourceHubName, UUID destinationHubId, String destinationHubName) {
+    }
+
+    private record Pending(UUID id, String requestId, String sku, String itemName, int quantity,
+                           double unitWeightKg, LocalDateTime createdAt) {
+    }
+
+    private record Piece(Pending request, int quantity, double size) {
+    }
+
+    private static final class Shipment {
+        private final Route route;
+        private final List<ShipmentLineResponse> lines = new ArrayList<>();
+        private int units;
+        private double weightKg;
+        private LocalDateTime oldest;
+
+        private Shipment(Route route) {
+            this.route = route;
+        }
+
+        private void add(Pending request, int quantity, double weight) {
+            lines.add(new ShipmentLineResponse(request.id, request.requestId, request.sku, request.itemName,
+                    quantity, round(weight)));
+            units += quantity;
+            weightKg += weight;
+            oldest = earlier(oldest, request.createdAt);
+        }
+
+        private double utilisation(int unitCapacity, double weightCapacity) {
+            return Math.max((double) units / unitCapacity, weightKg / weightCapacity);
+        }
+    }
+}
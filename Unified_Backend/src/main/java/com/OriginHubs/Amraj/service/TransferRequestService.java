@@ -1,5 +1,10 @@
 package com.OriginHubs.Amraj.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +14,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.OriginHubs.Amraj.dto.PagedResponse;
+import com.OriginHubs.Amraj.dto.StockTransferRequest;
+import com.OriginHubs.Amraj.dto.TransferRequestBulkDecisionRequest;
+import com.OriginHubs.Amraj.dto.TransferRequestBulkDecisionResponse;
 import com.OriginHubs.Amraj.dto.TransferRequestDecisionRequest;
 import com.OriginHubs.Amraj.dto.TransferRequestResponse;
 import com.OriginHubs.Amraj.entity.InventoryItem;
@@ -29,6 +37,9 @@ public class TransferRequestService {
     @Autowired
     private com.OriginHubs.Amraj.repository.HubManagementRepository hubRepository;
 
+    @Autowired
+    private StockTransferService stockTransferService;
+
     @Transactional(readOnly = true)
     public PagedResponse
     
@@ -77,34 +88,53 @@ public class TransferRequestService {
         return mapToResponse(saved);
     }
 
-    private void updateInventoryForApprovedTransfer(TransferRequest request) {
-        // Find source inventory item
-        InventoryItem sourceItem = inventoryItemRepository
-            .findByHubIdAndSku(request.getSourceHub().getId(), request.getInventoryItem().getSku())
-            .orElseThrow(() -> new RuntimeException("Source inventory item not found"));
-
-        // Check if source has enough quantity
-        if (sourceItem.getQuantity() < request.getQuantity()) {
-            throw new RuntimeException("Insufficient quantity in source hub");
+    /**
+     * Approve or reject many pending requests as one unit. The requests are claimed with a
+     * single conditional update; if any of them is missing or already decided nothing is
+     * applied. Approved requests move their stock in one set-based transfer batch.
+     */
+    @Transactional
+    public TransferRequestBulkDecisionResponse processTransferRequests(TransferRequestBulkDecisionRequest decision) {
+        if (decision.decision() != TransferStatus.APPROVED && decision.decision() != TransferStatus.REJECTED) {
+            throw new IllegalArgumentException("Decision must be APPROVED or REJECTED");
+        }
+        Set<UUID> ids = new LinkedHashSet<>(decision.requestIds());
+        int claimed = transferRequestRepository.decidePending(ids, decision.decision(), decision.approvedBy(),
+            decision.notes(), LocalDateTime.now());
+        if (claimed != ids.size()) {
+            throw new IllegalArgumentException((ids.size() - claimed) + " of " + ids.size()
+                + " transfer requests were not found or are not pending");
+        }
+
+        List<TransferRequest> requests = transferRequestRepository.findByIdIn(ids);
+        long totalQuantity = 0;
+        for (TransferRequest request : requests) {
+            totalQuantity += request.getQuantity();
         }
+        if (decision.decision() == TransferStatus.APPROVED) {
+            List<StockTransferRequest> transfers = new ArrayList<>(requests.size());
+            List<String> references = new ArrayList<>(requests.size());
+            for (TransferRequest request : requests) {
+                transfers.add(toStockTransfer(request));
+                references.add(request.getRequestId());
+            }
+            stockTransferService.transfer(transfers, references);
+        }
+        return new TransferRequestBulkDecisionResponse(decision.decision(), requests.size(), totalQuantity,
+            requests.stream().map(this::mapToResponse).toList());
+    }
+
+    private void updateInventoryForApprovedTransfer(TransferRequest request) {
+        stockTransferService.transfer(List.of(toStockTransfer(request)), request.getRequestId());
+    }
 
-        // Reduce quantity from source
-        sourceItem.setQuantity(sourceItem.getQuantity() - request.getQuantity());
-        inventoryItemRepository.save(sourceItem);
-
-        // Find or create destination inventory item
-        InventoryItem destItem = inventoryItemRepository
-            .findByHubIdAndSku(request.getDestinationHub().getId(), request.getInventoryItem().getSku())
-            .orElse(new InventoryItem(
-                request.getInventoryItem().getSku(),
-                request.getInventoryItem().getProductName(),
-                0,
-                request.getDestinationHub()
-            ));
-
-        // Add quantity to destination
-        destItem.setQuantity(destItem.getQuantity() + request.getQuantity());
-        inventoryItemRepository.save(destItem);
+    private StockTransferRequest toStockTransfer(TransferRequest request) {
+        return new StockTransferRequest(
+            request.getSourceHub().getId(),
+            request.getDestinationHub().getId(),
+            request.getInventoryItem().getSku(),
+            request.getQuantity(),
+            request.getNotes());
     }
 
     @Transactional
@@ -0,0 +1,178 @@
+package com.OriginHubs.Amraj.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable k-d tree over points on the earth's surface for nearest-neighbour queries.
+ * Points are stored as unit vectors in three dimensions, where straight-line (chord)
+ * distance orders points exactly like great-circle distance, so the search needs no
+ * special handling near the poles or the antimeridian. Built once; rebuild to change.
+ */
+public final class GeoKdTree<T> {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final List<T> items;
+    // Coordinates of node i at 3i, 3i+1, 3i+2, in tree order: each subtree occupies a
+    // contiguous range with its splitting point in the middle
+    private final double[] coords;
+    private final int[] itemIndex;
+
+    private GeoKdTree(List<T> items, double[] coords, int[] itemIndex) {
+        this.items = items;
+        this.coords = coords;
+        this.itemIndex = itemIndex;
+    }
+
+    public static <T> GeoKdTree<T> build(List<T> items, double[] latitudes, double[] longitudes) {
+        int n = items.size();
+        double[] points = new double[n * 3];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            toVector(latitudes[i], longitudes[i], points, i * 3);
+            order[i] = i;
+        }
+        double[] coords = new double[n * 3];
+        int[] itemIndex = new int[n];
+        buildRange(points, order, 0, n, 0, coords, itemIndex);
+        return new GeoKdTree<>(List.copyOf(items), coords, itemIndex);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Up to {@code limit} points nearest to the coordinate, closest first.
+     */
+    public List<Neighbor<T>> nearest(double latitude, double longitude, int limit) {
+        int k = Math.min(limit, items.size());
+        if (k <= 0) {
+            return List.of();
+        }
+        double[] query = new double[3];
+        toVector(latitude, longitude, query, 0);
+        Best best = new Best(k);
+        search(query, 0, items.size(), 0, best);
+
+        List<Neighbor<T>> result = new ArrayList<>(best.size);
+        for (int i = 0; i < best.size; i++) {
+            result.add(new Neighbor<>(items.get(itemIndex[best.nodes[i]]), chordToKm(Math.sqrt(best.distances[i]))));
+        }
+        return result;
+    }
+
+    /**
+     * Great-circle distance between two coordinates in kilometres.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double[] a = new double[3];
+        double[] b = new double[3];
+        toVector(lat1, lon1, a, 0);
+        toVector(lat2, lon2, b, 0);
+        double dx = a[0] - b[0];
+        double dy = a[1] - b[1];
+        double dz = a[2] - b[2];
+        return chordToKm(Math.sqrt(dx * dx + dy * dy + dz * dz));
+    }
+
+    private void search(double[] query, int from, int to, int depth, Best best) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        int axis = depth % 3;
+        double dx = coords[mid * 3] - query[0];
+        double dy = coords[mid * 3 + 1] - query[1];
+        double dz = coords[mid * 3 + 2] - query[2];
+        best.offer(mid, dx * dx + dy * dy + dz * dz);
+
+        double diff = query[axis] - coords[mid * 3 + axis];
+        if (diff < 0) {
+            search(query, from, mid, depth + 1, best);
+            if (diff * diff < best.worst()) {
+                search(query, mid + 1, to, depth + 1, best);
+            }
+        } else {
+            search(query, mid + 1, to, depth + 1, best);
+            if (diff * diff < best.worst()) {
+                search(query, from, mid, depth + 1, best);
+            }
+        }
+    }
+
+    private static void buildRange(double[] points, int[] order, int from, int to, int depth,
+                                   double[] coords, int[] itemIndex) {
+        if (from >= to) {
+            return;
+        }
+        int axis = depth % 3;
+        int mid = (from + to) >>> 1;
+        // Sorting the range is O(n log^2 n) overall; fine for the few thousand points indexed here
+        Integer[] range = new Integer[to - from];
+        for (int i = from; i < to; i++) {
+            range[i - from] = order[i];
+        }
+        Arrays.sort(range, (a, b) -> Double.compare(points[a * 3 + axis], points[b * 3 + axis]));
+        for (int i = from; i < to; i++) {
+            order[i] = range[i - from];
+        }
+        int point = order[mid];
+        coords[mid * 3] = points[point * 3];
+        coords[mid * 3 + 1] = points[point * 3 + 1];
+        coords[mid * 3 + 2] = points[point * 3 + 2];
+        itemIndex[mid] = point;
+        buildRange(points, order, from, mid, depth + 1, coords, itemIndex);
+        buildRange(points, order, mid + 1, to, depth + 1, coords, itemIndex);
+    }
+
+    private static void toVector(double latitude, double longitude, double[] out, int offset) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        out[offset] = cosLat * Math.cos(lon);
+        out[offset + 1] = cosLat * Math.sin(lon);
+        out[offset + 2] = Math.sin(lat);
+    }
+
+    private static double chordToKm(double chord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, chord / 2));
+    }
+
+    public record Neighbor<T>(T item, double distanceKm) {
+    }
+
+    /**
+     * The k closest nodes seen so far, kept sorted by squared chord distance.
+     */
+    private static final class Best {
+        private final int[] nodes;
+        private final double[] distances;
+        private int size;
+
+        private Best(int k) {
+            nodes = new int[k];
+            distances = new double[k];
+        }
+
+        private double worst() {
+            return size < nodes.length ? Double.POSITIVE_INFINITY : distances[size - 1];
+        }
+
+        private void offer(int node, double distance) {
+            if (distance >= worst()) {
+                return;
+            }
+            int i = size < nodes.length ? size++ : size - 1;
+            while (i > 0 && distances[i - 1] > distance) {
+                nodes[i] = nodes[i - 1];
+                distances[i] = distances[i - 1];
+                i--;
+            }
+            nodes[i] = node;
+            distances[i] = distance;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.OriginHubs.Amraj.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel. The lowest wheel has {@code wheelSize} buckets of
+ * {@code tickMs}; timers beyond its span go to an overflow wheel whose tick is the
+ * whole span of the wheel below, created on demand. As the clock advances, overflow
+ * buckets cascade down until their timers land in the lowest wheel and fire. Adding
+ * a timer and advancing one tick are O(1) regardless of how far out timers are.
+ * Not thread-safe; the owner serializes {@link #add} and {@link #advanceTo}.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final Level<T> root;
+
+    public HierarchicalTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.root = new Level<>(tickMs, wheelSize, startMs);
+    }
+
+    /**
+     * Schedule {@code payload} at {@code expirationMs}. Returns false when that time is
+     * already within the current tick, in which case the caller should run it directly.
+     */
+    public boolean add(long expirationMs, T payload) {
+        return root.add(new Timer<>(expirationMs, payload));
+    }
+
+    /**
+     * Advance the clock tick by tick up to {@code nowMs}, handing every timer that
+     * becomes due to {@code expired} in expiration bucket order.
+     */
+    public void advanceTo(long nowMs, Consumer<T> expired) {
+        Consumer<Timer<T>> reinsert = timer -> {
+            if (!root.add(timer)) {
+                expired.accept(timer.payload);
+            }
+        };
+        while (root.currentTime + root.tickMs <= nowMs) {
+            root.tick(reinsert);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Level<T> level = root; level != null; level = level.overflow) {
+            size += level.size;
+        }
+        return size;
+    }
+
+    private record Timer<T>(long expirationMs, T payload) {
+    }
+
+    private static final class Level<T> {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final List<List<Timer<T>>> buckets;
+        private long currentTime;
+        private int size;
+        private Level<T> overflow;
+
+        private Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.currentTime = startMs - (startMs % tickMs);
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        private boolean add(Timer<T> timer) {
+            if (timer.expirationMs < currentTime + tickMs) {
+                return false;
+            }
+            if (timer.expirationMs < currentTime + interval) {
+                buckets.get(bucketIndex(timer.expirationMs)).add(timer);
+                size++;
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level<>(interval, wheelSize, currentTime);
+            }
+            return overflow.add(timer);
+        }
+
+        /**
+         * Move this level forward one tick; used on the lowest level only. Higher levels
+         * advance when the clock reaches a multiple of their tick.
+         */
+        private void tick(Consumer<Timer<T>> reinsert) {
+            currentTime += tickMs;
+            if (overflow != null && currentTime % overflow.tickMs == 0) {
+                overflow.advance(currentTime, reinsert);
+            }
+            drain(bucketIndex(currentTime), reinsert);
+        }
+
+        private void advance(long time, Consumer<Timer<T>> reinsert) {
+            currentTime = time;
+            if (overflow != null && currentTime % overflow.tickMs == 0) {
+                overflow.advance(currentTime, reinsert);
+            }
+            drain(bucketIndex(currentTime), reinsert);
+        }
+
+        private void drain(int index, Consumer<Timer<T>> reinsert) {
+            List<Timer<T>> bucket = buckets.get(index);
+            if (bucket.isEmpty()) {
+                return;
+            }
+            List<Timer<T>> due = new ArrayList<>(bucket);
+            bucket.clear();
+            size -= due.size();
+            due.forEach(reinsert);
+        }
+
+        private int bucketIndex(long timeMs) {
+            return (int) ((timeMs / tickMs) % wheelSize);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.OriginHubs.Amraj.util;
+
+/**
+ * Additive Holt-Winters exponential smoothing: a level, a linear trend and one seasonal
+ * offset per position in the period, each updated with its own smoothing factor. Series
+ * shorter than two full periods are fitted without the seasonal component. The fit also
+ * reports the RMSE of its one-step-ahead predictions, usable as a demand error estimate.
+ */
+public final class HoltWinters {
+
+    private HoltWinters() {
+    }
+
+    public static Fit fit(double[] series, int period, double alpha, double beta, double gamma) {
+        int n = series.length;
+        if (n == 0) {
+            return new Fit(0, 0, new double[Math.max(period, 1)], 0, 0);
+        }
+        boolean seasonal = period > 1 && n >= 2 * period;
+        double[] season = new double[Math.max(period, 1)];
+        double level;
+        double trend;
+        int start;
+        if (seasonal) {
+            double firstMean = mean(series, 0, period);
+            double secondMean = mean(series, period, 2 * period);
+            level = firstMean;
+            trend = (secondMean - firstMean) / period;
+            for (int i = 0; i < period; i++) {
+                season[i] = series[i] - firstMean;
+            }
+            start = period;
+        } else {
+            level = series[0];
+            trend = 0;
+            start = 1;
+        }
+
+        double squaredError = 0;
+        int predictions = 0;
+        for (int t = start; t < n; t++) {
+            int s = seasonal ? t % period : 0;
+            double error = series[t] - (level + trend + season[s]);
+            squaredError += error * error;
+            predictions++;
+
+            double previousLevel = level;
+            level = alpha * (series[t] - season[s]) + (1 - alpha) * (level + trend);
+            trend = beta * (level - previousLevel) + (1 - beta) * trend;
+            if (seasonal) {
+                season[s] = gamma * (series[t] - level) + (1 - gamma) * season[s];
+            }
+        }
+        double rmse = predictions > 0 ? Math.sqrt(squaredError / predictions) : 0;
+        return new Fit(level, trend, seasonal ? season : new double[Math.max(period, 1)], n, rmse);
+    }
+
+    private static double mean(double[] series, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += series[i];
+        }
+        return sum / (to - from);
+    }
+
+    /**
+     * Fitted state after the last observation, which sits at index {@code length - 1}.
+     */
+    public record Fit(double level, double trend, double[] season, int length, double rmse) {
+
+        /**
+         * Forecast {@code h} steps past the last observation, never below zero.
+         */
+        public double at(int h) {
+            return Math.max(0, level + h * trend + season[(length + h - 1) % season.length]);
+        }
+
+        /**
+         * Total forecast over the next {@code horizon} steps.
+         */
+        public double total(int horizon) {
+            double total = 0;
+            for (int h = 1; h <= horizon; h++) {
+                total += at(h);
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.OriginHubs.Amraj.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable pyramid of Web Mercator grids for clustering map markers. Level L splits the
+ * world into 2^L x 2^L cells; the finest level is built from the points and each coarser
+ * level by merging 2 x 2 blocks of the level below, so every level is precomputed and a
+ * viewport query only reads the cells it covers. Each cell keeps per-kind counts and the
+ * centroid of its points; a cell holding a single point remembers which one.
+ */
+public final class MarkerGrid {
+
+    public static final int MAX_LEVEL = 20;
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final int kindCount;
+    private final Level[] levels;
+
+    private MarkerGrid(int kindCount, Level[] levels) {
+        this.kindCount = kindCount;
+        this.levels = levels;
+    }
+
+    /**
+     * Point i is at (latitudes[i], longitudes[i]) and has kind kinds[i], 0 <= kind < kindCount.
+     */
+    public static MarkerGrid build(double[] latitudes, double[] longitudes, int[] kinds, int kindCount) {
+        int n = latitudes.length;
+        int side = 1 << MAX_LEVEL;
+        long[] keys = new long[n];
+        int[] counts = new int[n * kindCount];
+        double[] sumX = new double[n];
+        double[] sumY = new double[n];
+        int[] points = new int[n];
+        for (int i = 0; i < n; i++) {
+            double x = projectX(longitudes[i]);
+            double y = projectY(latitudes[i]);
+            keys[i] = key(cell(x, side), cell(y, side), MAX_LEVEL);
+            counts[i * kindCount + kinds[i]] = 1;
+            sumX[i] = x;
+            sumY[i] = y;
+            points[i] = i;
+        }
+        Level[] levels = new Level[MAX_LEVEL + 1];
+        levels[MAX_LEVEL] = merge(new Level(keys, counts, sumX, sumY, points), MAX_LEVEL, 0, kindCount);
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            levels[level] = merge(levels[level + 1], level + 1, 1, kindCount);
+        }
+        return new MarkerGrid(kindCount, levels);
+    }
+
+    /**
+     * Cells of {@code level} overlapping the box. A box whose west edge is east of its east
+     * edge is taken to cross the antimeridian.
+     */
+    public List<Cluster> query(double south, double west, double north, double east, int level) {
+        List<Cluster> result = new ArrayList<>();
+        if (west > east) {
+            collect(south, west, north, 180, level, result);
+            collect(south, -180, north, east, level, result);
+        } else {
+            collect(south, west, north, east, level, result);
+        }
+        return result;
+    }
+
+    private void collect(double south, double west, double north, double east, int level, List<Cluster> result) {
+        Level cells = levels[level];
+        int side = 1 << level;
+        int xMin = cell(projectX(west), side);
+        int xMax = cell(projectX(east), side);
+        int yMin = cell(projectY(north), side);
+        int yMax = cell(projectY(south), side);
+        long yMask = (1L << level) - 1;
+
+        // Keys sort by column then row: walk forward, jumping to the next column's first row in range
+        int i = lowerBound(cells.keys, key(xMin, yMin, level), 0);
+        while (i < cells.keys.length) {
+            long k = cells.keys[i];
+            int x = (int) (k >>> level);
+            int y = (int) (k & yMask);
+            if (x > xMax) {
+                break;
+            }
+            if (y < yMin) {
+                i = lowerBound(cells.keys, key(x, yMin, level), i);
+            } else if (y > yMax) {
+                i = lowerBound(cells.keys, key(x + 1, yMin, level), i);
+            } else {
+                int[] counts = Arrays.copyOfRange(cells.counts, i * kindCount, (i + 1) * kindCount);
+                int total = 0;
+                for (int count : counts) {
+                    total += count;
+                }
+                result.add(new Cluster(unprojectY(cells.sumY[i] / total), unprojectX(cells.sumX[i] / total),
+                        counts, total, cells.points[i]));
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Group {@code children} (keyed at {@code childLevel}) into cells {@code shift} levels up.
+     */
+    private static Level merge(Level children, int childLevel, int shift, int kindCount) {
+        int n = children.keys.length;
+        int level = childLevel - shift;
+        long childMask = (1L << childLevel) - 1;
+        long[] parentKeys = new long[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            long k = children.keys[i];
+            parentKeys[i] = key((int) (k >>> childLevel) >> shift, (int) (k & childMask) >> shift, level);
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> parentKeys[i]));
+
+        int cells = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || parentKeys[order[i]] != parentKeys[order[i - 1]]) {
+                cells++;
+            }
+        }
+        long[] keys = new long[cells];
+        int[] counts = new int[cells * kindCount];
+        double[] sumX = new double[cells];
+        double[] sumY = new double[cells];
+        int[] points = new int[cells];
+        int cell = -1;
+        for (int i = 0; i < n; i++) {
+            int child = order[i];
+            if (i == 0 || parentKeys[child] != parentKeys[order[i - 1]]) {
+                cell++;
+                keys[cell] = parentKeys[child];
+                points[cell] = children.points[child];
+            } else {
+                points[cell] = -1;
+            }
+            for (int kind = 0; kind < kindCount; kind++) {
+                counts[cell * kindCount + kind] += children.counts[child * kindCount + kind];
+            }
+            sumX[cell] += children.sumX[child];
+            sumY[cell] += children.sumY[child];
+        }
+        return new Level(keys, counts, sumX, sumY, points);
+    }
+
+    private static int lowerBound(long[] keys, long key, int from) {
+        int low = from;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long key(int x, int y, int level) {
+        return ((long) x << level) | y;
+    }
+
+    private static int cell(double projected, int side) {
+        return (int) Math.min(side - 1, Math.max(0, Math.floor(projected * side)));
+    }
+
+    private static double projectX(double longitude) {
+        return (longitude + 180) / 360;
+    }
+
+    private static double projectY(double latitude) {
+        double lat = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        return (1 - Math.log(Math.tan(lat) + 1 / Math.cos(lat)) / Math.PI) / 2;
+    }
+
+    private static double unprojectX(double x) {
+        return x * 360 - 180;
+    }
+
+    private static double unprojectY(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+    }
+
+    /**
+     * One occupied cell: centroid, per-kind counts and, when it holds exactly one point,
+     * that point's index (otherwise -1).
+     */
+    public record Cluster(double latitude, double longitude, int[] counts, int total, int point) {
+    }
+
+    private record Level(long[] keys, int[] counts, double[] sumX, double[] sumY, int[] points) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.OriginHubs.Amraj.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable R-tree over latitude/longitude polygons for point-in-polygon queries. Leaves
+ * are packed bottom-up with Sort-Tile-Recursive, so siblings are spatial neighbours and a
+ * lookup only descends into the few nodes whose bounding box holds the point before an
+ * exact ray-casting test. Polygons are treated as planar in degrees, which is accurate at
+ * delivery-zone scale; polygons crossing the antimeridian are not supported.
+ */
+public final class PolygonRTree<T> {
+
+    private static final int NODE_CAPACITY = 16;
+
+    private final List<T> items;
+    private final double[][] latitudes;
+    private final double[][] longitudes;
+    // levels[0] holds the item boxes in packed order, levels[k] the boxes of nodes that each
+    // cover NODE_CAPACITY consecutive entries of level k-1; four values per box:
+    // min latitude, min longitude, max latitude, max longitude
+    private final double[][] levels;
+
+    private PolygonRTree(List<T> items, double[][] latitudes, double[][] longitudes, double[][] levels) {
+        this.items = items;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.levels = levels;
+    }
+
+    /**
+     * Index {@code items}, where item i is the polygon with vertices
+     * (latitudes[i][j], longitudes[i][j]). The ring may be open or closed.
+     */
+    public static <T> PolygonRTree<T> build(List<T> items, List<double[]> latitudes, List<double[]> longitudes) {
+        int n = items.size();
+        double[] boxes = new double[n * 4];
+        for (int i = 0; i < n; i++) {
+            double[] lats = latitudes.get(i);
+            double[] lons = longitudes.get(i);
+            if (lats.length != lons.length || lats.length < 3) {
+                throw new IllegalArgumentException("A polygon needs at least three vertices");
+            }
+            boxes[i * 4] = Arrays.stream(lats).min().getAsDouble();
+            boxes[i * 4 + 1] = Arrays.stream(lons).min().getAsDouble();
+            boxes[i * 4 + 2] = Arrays.stream(lats).max().getAsDouble();
+            boxes[i * 4 + 3] = Arrays.stream(lons).max().getAsDouble();
+        }
+
+        // Sort-Tile-Recursive: vertical slices by centre longitude, each slice by centre latitude
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> boxes[i * 4 + 1] + boxes[i * 4 + 3]));
+        int leaves = (n + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceSize = (int) Math.ceil(Math.sqrt(leaves)) * NODE_CAPACITY;
+        for (int from = 0; from < n; from += sliceSize) {
+            Arrays.sort(order, from, Math.min(n, from + sliceSize),
+                    Comparator.comparingDouble(i -> boxes[i * 4] + boxes[i * 4 + 2]));
+        }
+
+        List<T> packedItems = new ArrayList<>(n);
+        double[][] packedLatitudes = new double[n][];
+        double[][] packedLongitudes = new double[n][];
+        double[] leafBoxes = new double[n * 4];
+        for (int i = 0; i < n; i++) {
+            int item = order[i];
+            packedItems.add(items.get(item));
+            packedLatitudes[i] = latitudes.get(item).clone();
+            packedLongitudes[i] = longitudes.get(item).clone();
+            System.arraycopy(boxes, item * 4, leafBoxes, i * 4, 4);
+        }
+
+        List<double[]> levels = new ArrayList<>();
+        levels.add(leafBoxes);
+        double[] level = leafBoxes;
+        while (level.length / 4 > NODE_CAPACITY) {
+            int count = level.length / 4;
+            double[] parents = new double[((count + NODE_CAPACITY - 1) / NODE_CAPACITY) * 4];
+            for (int child = 0; child < count; child++) {
+                int parent = child / NODE_CAPACITY * 4;
+                int box = child * 4;
+                if (child % NODE_CAPACITY == 0) {
+                    System.arraycopy(level, box, parents, parent, 4);
+                } else {
+                    parents[parent] = Math.min(parents[parent], level[box]);
+                    parents[parent + 1] = Math.min(parents[parent + 1], level[box + 1]);
+                    parents[parent + 2] = Math.max(parents[parent + 2], level[box + 2]);
+                    parents[parent + 3] = Math.max(parents[parent + 3], level[box + 3]);
+                }
+            }
+            levels.add(parents);
+            level = parents;
+        }
+        return new PolygonRTree<>(List.copyOf(packedItems), packedLatitudes, packedLongitudes,
+                levels.toArray(new double[0][]));
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Every indexed polygon containing the point, in no particular order.
+     */
+    public List<T> containing(double latitude, double longitude) {
+        List<T> result = new ArrayList<>(2);
+        int top = levels.length - 1;
+        int count = levels[top].length / 4;
+        for (int entry = 0; entry < count; entry++) {
+            visit(top, entry, latitude, longitude, result);
+        }
+        return result;
+    }
+
+    private void visit(int level, int entry, double latitude, double longitude, List<T> result) {
+        double[] boxes = levels[level];
+        int box = entry * 4;
+        if (latitude < boxes[box] || longitude < boxes[box + 1]
+                || latitude > boxes[box + 2] || longitude > boxes[box + 3]) {
+            return;
+        }
+        if (level == 0) {
+            if (contains(entry, latitude, longitude)) {
+                result.add(items.get(entry));
+            }
+            return;
+        }
+        int from = entry * NODE_CAPACITY;
+        int to = Math.min(from + NODE_CAPACITY, levels[level - 1].length / 4);
+        for (int child = from; child < to; child++) {
+            visit(level - 1, child, latitude, longitude, result);
+        }
+    }
+
+    /**
+     * Ray casting: a point is inside when a ray from it crosses the ring an odd number of times.
+     */
+    private boolean contains(int item, double latitude, double longitude) {
+        double[] ys = latitudes[item];
+        double[] xs = longitudes[item];
+        boolean inside = false;
+        for (int i = 0, j = ys.length - 1; i < ys.length; j = i++) {
+            if ((ys[i] > latitude) != (ys[j] > latitude)
+                    && longitude < (xs[j] - xs[i]) * (latitude - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Planar area of a ring in square degrees (shoelace formula).
+     */
+    public static double area(double[] latitudes, double[] longitudes) {
+        double sum = 0;
+        for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+            sum += longitudes[j] * latitudes[i] - longitudes[i] * latitudes[j];
+        }
+        return Math.abs(sum) / 2;
+    }
+}
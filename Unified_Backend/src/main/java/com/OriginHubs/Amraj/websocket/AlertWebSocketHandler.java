@@ -83,6 +83,24 @@ public class AlertWebSocketHandler extends TextWebSocketHandler {
         });
     }
 
+    public void broadcastPromoStatusChanged(String code, boolean active) {
+        Map<String, Object> promoMessage = Map.of(
+                "type", "promo_status",
+                "code", code,
+                "active", active,
+                "timestamp", System.currentTimeMillis());
+
+        sessions.values().forEach(session -> {
+            try {
+                if (session.isOpen()) {
+                    sendMessage(session, promoMessage);
+                }
+            } catch (IOException e) {
+                log.error("Error broadcasting promo status to session {}", session.getId(), e);
+            }
+        });
+    }
+
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
         String payload = message.getPayload();
@@ -0,0 +1,158 @@
+package com.OriginHubs.Amraj.customer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.OriginHubs.Amraj.model.PromoCode;
+
+/**
+ * Hammers {@link PromoUsageCounter} from many threads at once and checks that the usage
+ * limit holds exactly, rolled-back reservations are released, and the flushed delta
+ * matches the committed redemptions. The rate reached is logged, not asserted, so a slow
+ * machine cannot fail the build. No database: the flush goes to a mocked JdbcTemplate,
+ * so this checks the deltas handed to the additive UPDATE but not the UPDATE itself.
+ */
+class PromoUsageCounterLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PromoUsageCounterLoadTest.class);
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 2_000;
+
+    private final AtomicLong flushedCount = new AtomicLong();
+    private ExecutorService executor;
+    private PromoUsageCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> updates = invocation.getArgument(1);
+            for (Object[] update : updates) {
+                flushedCount.addAndGet((Long) update[0]);
+            }
+            return new int[updates.size()];
+        });
+        counter = new PromoUsageCounter(jdbcTemplate);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void neverRedeemsPastTheLimitUnderConcurrentLoad() throws Exception {
+        PromoCode promoCode = promoCode(1L, 25_000, 5_000);
+
+        long started = System.nanoTime();
+        int redeemed = run(THREADS, ATTEMPTS_PER_THREAD, attempt -> counter.tryReserve(promoCode));
+        double seconds = (System.nanoTime() - started) / 1e9;
+        counter.flush();
+
+        assertEquals(20_000, redeemed);
+        assertEquals(25_000, counter.getUsedCount(promoCode));
+        assertEquals(20_000, flushedCount.get());
+        log.info("{} reservation attempts from {} threads at {} per second",
+                THREADS * ATTEMPTS_PER_THREAD, THREADS, Math.round(THREADS * ATTEMPTS_PER_THREAD / seconds));
+    }
+
+    @Test
+    void rolledBackReservationsFreeTheirSlots() throws Exception {
+        PromoCode promoCode = promoCode(2L, 10_000, 0);
+
+        // Every other checkout rolls back, so its slot must go back to the pool
+        int committed = run(THREADS, ATTEMPTS_PER_THREAD, attempt -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                boolean reserved = counter.tryReserve(promoCode);
+                int status = attempt % 2 == 0
+                        ? TransactionSynchronization.STATUS_COMMITTED
+                        : TransactionSynchronization.STATUS_ROLLED_BACK;
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCompletion(status);
+                }
+                return reserved && status == TransactionSynchronization.STATUS_COMMITTED;
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        counter.flush();
+
+        assertEquals(10_000, committed);
+        assertEquals(10_000, counter.getUsedCount(promoCode));
+        assertEquals(10_000, flushedCount.get());
+    }
+
+    @Test
+    void unlimitedCodeCountsEveryRedemption() throws Exception {
+        PromoCode promoCode = promoCode(3L, null, 0);
+
+        int redeemed = run(THREADS, ATTEMPTS_PER_THREAD, attempt -> counter.tryReserve(promoCode));
+        counter.flush();
+
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, redeemed);
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, counter.getUsedCount(promoCode));
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD, flushedCount.get());
+    }
+
+    /**
+     * Start all threads together and return how many attempts succeeded.
+     */
+    private int run(int threads, int attemptsPerThread, Attempt attempt) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int succeeded = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (attempt.run(i)) {
+                        succeeded++;
+                    }
+                }
+                return succeeded;
+            }));
+        }
+        start.countDown();
+        int total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get(30, TimeUnit.SECONDS);
+        }
+        return total;
+    }
+
+    private static PromoCode promoCode(Long id, Integer usageLimit, int usedCount) {
+        PromoCode promoCode = new PromoCode();
+        promoCode.setId(id);
+        promoCode.setUsageLimit(usageLimit);
+        promoCode.setUsedCount(usedCount);
+        return promoCode;
+    }
+
+    @FunctionalInterface
+    private interface Attempt {
+        boolean run(int attempt);
+    }
+}